@@ -1,22 +1,17 @@
 package model;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.UUID;
-
 /**
  * Represents a contract for renting an item.
  */
 public class Contract {
-  private List<Contract> contractList = new ArrayList<>();
-  private String id; // Unique contract ID
+  private static volatile ContractIdGenerator idGenerator = new ContractIdGenerator();
+  private long id; // Unique contract ID, increasing with creation time
   private Item item;
   private Member renter;
   private int startDay;
   private int endDay;
   private boolean processed;
   private ContractStatus status;
-  private Time time;
 
   /**
    * Enum representing the status of a contract.
@@ -36,7 +31,7 @@ public class Contract {
    * @param endDay   The end day of the rental.
    */
   public Contract(Item item, Member renter, int startDay, int endDay) {
-    this.id = UUID.randomUUID().toString();
+    this.id = idGenerator.nextId();
     this.item = new Item(item);
     this.renter = new Member(renter);
     this.startDay = startDay;
@@ -44,7 +39,6 @@ public class Contract {
     this.processed = false;
     this.status = ContractStatus.ACTIVE;
     this.item.setAvailable(false);
-    this.time = new Time();
   }
 
   /**
@@ -54,67 +48,29 @@ public class Contract {
   }
 
   /**
-   * con. fild time.
-   */
-  public Contract(Time time) {
-    if (time == null) {
-      throw new IllegalArgumentException();
-    }
-    this.time = time;
-  }
-
-  public Contract copy() {
-    return new Contract(this);
-  }
-
-  /**
-   * Factory method to create a validated Contract instance.
+   * Gets the generator used to assign contract IDs.
    *
-   * @param item     The item being rented.
-   * @param renter   The member renting the item.
-   * @param startDay The start day of the rental.
-   * @param endDay   The end day of the rental.
-   * @return A validated Contract instance.
-   * @throws IllegalArgumentException If validation fails.
+   * @return The contract ID generator.
    */
-  public Contract createContract(Item item, Member renter, int startDay, int endDay) {
-    if (item == null || renter == null) {
-      throw new IllegalArgumentException("Item and renter must not be null.");
-    }
-    if (startDay < 0 || endDay < startDay) {
-      throw new IllegalArgumentException("Invalid start or end day.");
-    }
-
-    if (hasDateConflict(item, startDay, endDay)) {
-      throw new IllegalArgumentException("The rental period conflicts with an existing contract.");
-    }
-    double totalCost = calculateTotalCost(item, startDay, endDay);
-    if (renter.getCredits() < totalCost) {
-      throw new IllegalArgumentException("Renter does not have enough credits.");
-    }
-    return new Contract(item, renter, startDay, endDay);
+  public static ContractIdGenerator getIdGenerator() {
+    return idGenerator;
   }
 
   /**
-   * Adds a contract to the system.
+   * Replaces the generator used to assign contract IDs, e.g. with one for a
+   * different node.
    *
-   * @param contract The contract to add.
+   * @param generator The contract ID generator to use.
    */
-  public void addContract(Contract contract) {
-    contractList.add(contract);
+  public static void setIdGenerator(ContractIdGenerator generator) {
+    if (generator == null) {
+      throw new IllegalArgumentException("ID generator cannot be null.");
+    }
+    idGenerator = generator;
   }
 
-  /**
-   * Returns a list of all contracts as shallow copies to maintain encapsulation.
-   *
-   * @return A list of all contracts.
-   */
-  public List<Contract> getAllContractsCopy() {
-    List<Contract> contractCopies = new ArrayList<>();
-    for (Contract contract : contractList) {
-      contractCopies.add(new Contract(contract)); // Using a copy constructor
-    }
-    return contractCopies;
+  public Contract copy() {
+    return new Contract(this);
   }
 
   /**
@@ -155,68 +111,18 @@ public class Contract {
     return calculateTotalCost(this.item, this.startDay, this.endDay);
   }
 
-  /**
-   * Checks if there is a date conflict for renting an item in the specified
-   * range.
-   *
-   * @param item     The item to check.
-   * @param startDay The start day of the rental.
-   * @param endDay   The end day of the rental.
-   * @return True if a conflict exists; otherwise false.
-   */
-  public boolean hasDateConflict(Item item, int startDay, int endDay) {
-
-    if (contractList == null) {
-      return false;
-    }
-    for (Contract contract : contractList) {
-      if (contract.item != null && contract.item.equals(item) && !contract.processed) {
-        int existingStart = contract.startDay;
-        int existingEnd = contract.endDay;
-        if (!(endDay < existingStart || startDay > existingEnd)) {
-          return true;
-        }
-      }
-    }
-    return false;
-  }
-
-  /**
-   * Checks if an item is involved in a future or active contract.
-   *
-   * @param item The item to check.
-   * @return True if the item has a future or active contract; otherwise false.
-   */
-  public boolean isItemInvolvedInFutureOrActiveContract(Item item) {
-    if (item == null || contractList == null || this.time == null) {
-      return false;
-    }
-
-    int currentDay = time.getCurrentDay();
-    for (Contract contract : contractList) {
-      if (contract.item != null && contract.item.equals(item) && !contract.processed && contract.endDay >= currentDay) {
-        return true;
-      }
-    }
-    return false;
-  }
-
   /**
    * Processes this contract, transferring credits and marking it as processed.
    *
-   * @throws IllegalStateException If the renter has insufficient credits.
+   * @throws InsufficientCreditsException If the renter has insufficient
+   *                                      credits.
    */
   public void processContract() {
     if (processed) {
       return;
     }
-    double totalCost = getTotalCost();
-    if (renter.getCredits() < totalCost) {
-      throw new IllegalStateException("Insufficient credits. Contract cannot be processed.");
-    }
-
-    renter.setCredits(renter.getCredits() - totalCost);
-    item.getOwner().setCredits(item.getOwner().getCredits() + totalCost);
+    long totalCost = CreditLedger.toMinorUnits(getTotalCost());
+    Member.getCreditLedger().transfer(renter.getId(), item.getOwnerId(), totalCost);
     processed = true;
     status = ContractStatus.PROCESSED;
     item.setAvailable(true);
@@ -233,17 +139,6 @@ public class Contract {
     }
   }
 
-  /**
-   * Processes all contracts due as of the specified day.
-   *
-   * @param currentDay The current system day.
-   */
-  public void processDueContracts(int currentDay) {
-    for (Contract contract : contractList) {
-      contract.checkAndProcessContract(currentDay);
-    }
-  }
-
   /**
    * Gets the status of this contract.
    *
@@ -256,11 +151,21 @@ public class Contract {
   // Getters for contract fields
 
   /**
-   * Gets the unique ID of this contract.
+   * Gets the unique ID of this contract in its sortable string form.
    *
    * @return The contract ID.
    */
   public String getId() {
+    return ContractIdGenerator.format(id);
+  }
+
+  /**
+   * Gets the unique ID of this contract as a number. Contracts created later
+   * have larger IDs.
+   *
+   * @return The numeric contract ID.
+   */
+  public long getNumericId() {
     return id;
   }
 
@@ -273,6 +178,25 @@ public class Contract {
     return new Item(item);
   }
 
+  /**
+   * Gets the ID of the item associated with this contract without copying the
+   * item.
+   *
+   * @return The ID of the rented item.
+   */
+  public int getItemId() {
+    return item.getId();
+  }
+
+  /**
+   * Gets the ID of the owner of the rented item without copying the item.
+   *
+   * @return The ID of the member who receives the rental payment.
+   */
+  public String getOwnerId() {
+    return item.getOwnerId();
+  }
+
   /**
    * Gets the renter associated with this contract.
    *
@@ -282,6 +206,16 @@ public class Contract {
     return new Member(renter);
   }
 
+  /**
+   * Gets the ID of the renter associated with this contract without copying
+   * the member.
+   *
+   * @return The ID of the member renting the item.
+   */
+  public String getRenterId() {
+    return renter.getId();
+  }
+
   /**
    * Gets the start day of the rental period for this contract.
    *
@@ -0,0 +1,180 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Cold storage for processed contracts. Newly processed contracts collect in a
+ * small pending list; once a full batch has collected, a background thread
+ * freezes it into an immutable segment sorted by contract ID, with the item
+ * IDs in a parallel primitive array so history lookups by item scan flat
+ * memory and only touch the matching contracts. The same thread then compacts
+ * the archive: whenever the newest segment has grown to at least half the
+ * size of the one before it, the two are merged into one sorted segment, so
+ * the archive holds O(log n) segments of exact-sized arrays and every
+ * contract is merged O(log n) times. Segments are not compressed: archived
+ * contracts still hold their item and renter copies and have no serialized
+ * form yet, so compression is left for when they do. Queries see pending,
+ * in-flight and frozen contracts alike. All archives share one daemon
+ * compactor thread, so creating repositories starts no further threads and
+ * each archive's segments are still only ever removed by a single thread.
+ */
+public class ContractArchive {
+
+  private static final int SEGMENT_SIZE = 4096;
+
+  private static final ExecutorService COMPACTOR = Executors.newSingleThreadExecutor(runnable -> {
+    Thread thread = new Thread(runnable, "contract-archive-compactor");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  private List<Segment> segments = new ArrayList<>();
+  private List<List<Contract>> sealing = new ArrayList<>();
+  private List<Contract> pending = new ArrayList<>();
+  private int size;
+
+  /**
+   * Archives a processed contract.
+   *
+   * @param contract The contract to archive.
+   */
+  public synchronized void add(Contract contract) {
+    pending.add(contract);
+    size++;
+    if (pending.size() >= SEGMENT_SIZE) {
+      List<Contract> batch = pending;
+      pending = new ArrayList<>();
+      sealing.add(batch);
+      COMPACTOR.execute(() -> seal(batch));
+    }
+  }
+
+  /**
+   * Gets the number of archived contracts.
+   *
+   * @return The archived contract count.
+   */
+  public synchronized int size() {
+    return size;
+  }
+
+  /**
+   * Lists the archived contracts of one item.
+   *
+   * @param itemId The ID of the item.
+   * @return A new list of the item's archived contracts.
+   */
+  public synchronized List<Contract> findByItem(int itemId) {
+    List<Contract> contracts = new ArrayList<>();
+    for (Segment segment : segments) {
+      segment.collectByItem(itemId, contracts);
+    }
+    for (List<Contract> batch : sealing) {
+      collectByItem(batch, itemId, contracts);
+    }
+    collectByItem(pending, itemId, contracts);
+    return contracts;
+  }
+
+  private void seal(List<Contract> batch) {
+    Segment segment = new Segment(batch);
+    synchronized (this) {
+      sealing.removeIf(sealed -> sealed == batch);
+      segments.add(segment);
+    }
+    compact();
+  }
+
+  /**
+   * Merges the two newest segments while they are of similar size. Only the
+   * compactor thread removes segments, so the pair is merged outside the
+   * lock and swapped in atomically afterwards; queries meanwhile keep seeing
+   * the two old segments.
+   */
+  private void compact() {
+    while (true) {
+      Segment older;
+      Segment newer;
+      synchronized (this) {
+        int count = segments.size();
+        if (count < 2 || segments.get(count - 2).size() > 2 * segments.get(count - 1).size()) {
+          return;
+        }
+        older = segments.get(count - 2);
+        newer = segments.get(count - 1);
+      }
+      Segment merged = new Segment(older, newer);
+      synchronized (this) {
+        int index = segments.indexOf(older);
+        segments.remove(older);
+        segments.remove(newer);
+        segments.add(index, merged);
+      }
+    }
+  }
+
+  private static void collectByItem(List<Contract> batch, int itemId, List<Contract> contracts) {
+    for (Contract contract : batch) {
+      if (contract.getItemId() == itemId) {
+        contracts.add(contract);
+      }
+    }
+  }
+
+  /**
+   * An immutable batch of archived contracts sorted by ID.
+   */
+  private static class Segment {
+    private final Contract[] contracts;
+    private final int[] itemIds;
+
+    Segment(List<Contract> batch) {
+      contracts = batch.toArray(new Contract[0]);
+      Arrays.sort(contracts, Comparator.comparingLong(Contract::getNumericId));
+      itemIds = itemIdsOf(contracts);
+    }
+
+    /**
+     * Merges two segments into one, keeping the contracts sorted by ID.
+     */
+    Segment(Segment first, Segment second) {
+      contracts = new Contract[first.size() + second.size()];
+      int i = 0;
+      int j = 0;
+      for (int k = 0; k < contracts.length; k++) {
+        if (j == second.size()
+            || (i < first.size() && first.contracts[i].getNumericId() <= second.contracts[j].getNumericId())) {
+          contracts[k] = first.contracts[i++];
+        } else {
+          contracts[k] = second.contracts[j++];
+        }
+      }
+      itemIds = itemIdsOf(contracts);
+    }
+
+    private int size() {
+      return contracts.length;
+    }
+
+    private static int[] itemIdsOf(Contract[] contracts) {
+      int[] itemIds = new int[contracts.length];
+      for (int i = 0; i < contracts.length; i++) {
+        itemIds[i] = contracts[i].getItemId();
+      }
+      return itemIds;
+    }
+
+    private void collectByItem(int itemId, List<Contract> matches) {
+      for (int i = 0; i < itemIds.length; i++) {
+        if (itemIds[i] == itemId) {
+          matches.add(contracts[i]);
+        }
+      }
+    }
+  }
+}
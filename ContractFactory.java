@@ -1,5 +1,10 @@
 package model;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Factory class for creating Contract instances with necessary validation.
  * This class ensures that contracts are created only if all conditions
@@ -7,7 +12,16 @@ package model;
  */
 public class ContractFactory {
 
-  public ContractFactory() {
+  private ContractRepository contractRepo;
+
+  /**
+   * Constructs a factory that checks new contracts against the bookings in a
+   * repository.
+   *
+   * @param contractRepo The repository holding the existing contracts.
+   */
+  public ContractFactory(ContractRepository contractRepo) {
+    this.contractRepo = contractRepo;
   }
   // private Contract contract;
   // private Time time;
@@ -37,21 +51,87 @@ public class ContractFactory {
     if (item == null || renter == null) {
       throw new IllegalArgumentException("Item and renter must not be null.");
     }
-    if (item.getOwner().equals(renter)) {
+    if (item.getOwnerId().equals(renter.getId())) {
       throw new IllegalArgumentException("Owner cannot rent their own item.");
     }
     if (startDay < 0 || endDay < startDay) {
       throw new IllegalArgumentException("Invalid start or end day.");
     }
 
-    Contract contract = new Contract(item, renter, startDay, endDay);
-
-    if (contract.hasDateConflict(item, startDay, endDay)) {
+    if (contractRepo.hasDateConflict(item, startDay, endDay)) {
       throw new IllegalArgumentException("The rental period conflicts with an existing contract.");
     }
-    if (renter.getCredits() < contract.calculateTotalCost(item, startDay, endDay)) {
+    Contract contract = new Contract(item, renter, startDay, endDay);
+    if (renter.getCredits() < contract.getTotalCost()) {
       throw new IllegalArgumentException("Renter does not have enough credits.");
     }
-    return new Contract(item, renter, startDay, endDay);
+    return contract;
+  }
+
+  /**
+   * Creates the contracts for a batch of bookings, validating the batch as a
+   * whole: every booking is checked as for a single contract except for date
+   * conflicts, and each renter's balance must cover the total cost of all of
+   * that renter's bookings in the batch. Date conflicts, including overlaps
+   * within the batch, are checked when the batch is committed with
+   * {@link ContractRepository#addContracts(List)}.
+   *
+   * @param requests The bookings to create contracts for.
+   * @return The contracts, in the order of the requests.
+   * @throws IllegalArgumentException if the batch is empty or any booking
+   *                                  fails validation; no contract is
+   *                                  returned then.
+   */
+  public List<Contract> createContracts(List<BookingRequest> requests) {
+    if (requests == null || requests.isEmpty()) {
+      throw new IllegalArgumentException("The batch must contain at least one booking.");
+    }
+    List<Contract> contracts = new ArrayList<>(requests.size());
+    Map<String, Long> costsByRenter = new HashMap<>();
+    for (BookingRequest request : requests) {
+      if (request == null || request.item == null || request.renter == null) {
+        throw new IllegalArgumentException("Item and renter must not be null.");
+      }
+      if (request.item.getOwnerId().equals(request.renter.getId())) {
+        throw new IllegalArgumentException("Owner cannot rent their own item.");
+      }
+      if (request.startDay < 0 || request.endDay < request.startDay) {
+        throw new IllegalArgumentException("Invalid start or end day.");
+      }
+      Contract contract = new Contract(request.item, request.renter, request.startDay, request.endDay);
+      costsByRenter.merge(request.renter.getId(), CreditLedger.toMinorUnits(contract.getTotalCost()), Long::sum);
+      contracts.add(contract);
+    }
+    for (Map.Entry<String, Long> cost : costsByRenter.entrySet()) {
+      if (Member.getCreditLedger().getBalance(cost.getKey()) < cost.getValue()) {
+        throw new IllegalArgumentException("Renter does not have enough credits.");
+      }
+    }
+    return contracts;
+  }
+
+  /**
+   * A request to rent one item for a period, as part of a batch.
+   */
+  public static class BookingRequest {
+    private final Item item;
+    private final Member renter;
+    private final int startDay;
+    private final int endDay;
+
+    /**
+     * Constructs a booking request.
+     *
+     * @param item     The item to rent.
+     * @param renter   The member renting the item.
+     * @param startDay The start day of the rental period.
+     * @param endDay   The end day of the rental period.
+     */
+    public BookingRequest(Item item, Member renter, int startDay, int endDay) {
+      this.item = item;
+      this.renter = renter;
+      this.startDay = startDay;
+      this.endDay = endDay;
+    }
   }
 }
@@ -1,11 +1,10 @@
 package view;
 
 import java.nio.charset.StandardCharsets;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Scanner;
-import java.util.Set;
 import model.Contract;
+import model.SettlementReport;
 
 /**
  * The ContractInfoView class handles the display of contract-related
@@ -23,15 +22,12 @@ public class ContractInfoView {
    *
    * @param contracts The list of contracts to be displayed.
    */
-  public void displayContracts(List<Contract> contractsFromDatainitializer, List<Contract> contracts) {
-    Set<Contract> uniqueContracts = new HashSet<>(contractsFromDatainitializer);
-    uniqueContracts.addAll(contracts);
-
+  public void displayContracts(List<Contract> contracts) {
     System.out.println("\nList of Contracts:");
-    if (uniqueContracts.isEmpty()) {
+    if (contracts.isEmpty()) {
       System.out.println("No contracts found.");
     } else {
-      for (Contract contract : uniqueContracts) {
+      for (Contract contract : contracts) {
         displayContractDetails(contract);
       }
     }
@@ -127,6 +123,27 @@ public class ContractInfoView {
     System.out.println("Error: The specified rental period conflicts with an existing contract.");
   }
 
+  /**
+   * Displays the outcome of settling the contracts that fell due, including
+   * the contracts that could not be paid.
+   *
+   * @param report The settlement report to display.
+   */
+  public void displaySettlementReport(SettlementReport report) {
+    System.out.printf("Settled %d contract(s) for a total of %.2f credits.%n",
+        report.getSettledContracts().size(), report.getSettledCredits());
+    if (report.getRetriedCount() > 0) {
+      System.out.printf("%d settlement attempt(s) retried earlier failures.%n", report.getRetriedCount());
+    }
+    for (Contract contract : report.getFailedContracts()) {
+      System.out.printf("Contract %s could not be paid and will be retried.%n", contract.getId());
+    }
+    for (Contract contract : report.getDeadLetteredContracts()) {
+      System.out.printf("Contract %s could not be paid and was moved to the failed settlements.%n",
+          contract.getId());
+    }
+  }
+
   /**
    * Displays a custom message to the user.
    *
@@ -0,0 +1,454 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+/**
+ * Repository holding all contracts of the system in two tiers. The live tier
+ * holds only active contracts, ordered by ID; once processed, a contract moves
+ * to a {@link ContractArchive}, which freezes processed contracts into compact
+ * segments in the background. History queries span both tiers, and a persistent
+ * vector of every contract in order of addition serves full listings as a
+ * constant-time snapshot. The vector shares the contract objects with the
+ * tiers, so the full history stays in memory: the archive keeps the live
+ * tier and its indexes small and item lookups flat, it does not evict
+ * contracts. The bookings of each item, its contracts whose rental
+ * has not ended yet, are also indexed by rental period, so date-conflict checks
+ * cost O(log k) in the number of bookings k on that item rather than growing
+ * with every contract ever made. Unprocessed contracts wait in a min-heap
+ * ordered by due day, so processing due contracts touches only the contracts
+ * that are actually due, and a {@link SettlementEngine} settles them, in
+ * parallel when the batch is large. Contracts whose renter cannot pay are
+ * retried with backoff and finally parked in a dead-letter queue, without
+ * holding up the rest. A second heap orders unprocessed contracts by start day,
+ * so a simulation clock can jump straight to the next start or settlement.
+ * The unprocessed contracts of each member are counted, as renter and as item
+ * owner, so whether a member still has open settlements is a single lookup.
+ */
+public class ContractRepository {
+
+  private static final int MAX_ATTEMPTS = 6;
+
+  private TreeMap<Long, Contract> activeContracts = new TreeMap<>();
+  private ContractArchive archive = new ContractArchive();
+  private volatile PersistentVector<Contract> history = PersistentVector.empty();
+  private IntObjectHashMap<ItemBookings> bookingsByItem = new IntObjectHashMap<>();
+  private PriorityQueue<DueContract> dueContracts = new PriorityQueue<>();
+  private List<DueContract> deadLetters = new ArrayList<>();
+  private PriorityQueue<DueContract> pendingStarts = new PriorityQueue<>(
+      Comparator.comparingInt((DueContract entry) -> entry.contract.getStartDay())
+          .thenComparingLong(entry -> entry.sequence));
+  private Map<String, Integer> unprocessedByRenter = new HashMap<>();
+  private Map<String, Integer> unprocessedByOwner = new HashMap<>();
+  private long addedCount;
+  private final SettlementEngine settlementEngine;
+
+  /**
+   * Constructs an empty repository that settles on the common fork/join pool.
+   */
+  public ContractRepository() {
+    this(new SettlementEngine());
+  }
+
+  /**
+   * Constructs an empty repository that settles with the given engine.
+   *
+   * @param settlementEngine The engine that settles due contracts.
+   * @throws IllegalArgumentException if the engine is null.
+   */
+  public ContractRepository(SettlementEngine settlementEngine) {
+    if (settlementEngine == null) {
+      throw new IllegalArgumentException("Settlement engine cannot be null.");
+    }
+    this.settlementEngine = settlementEngine;
+  }
+
+  /**
+   * Adds a contract to the repository.
+   *
+   * @param contract The contract to add.
+   * @throws IllegalArgumentException if the contract is null or, while
+   *                                  unprocessed, conflicts with a booking of
+   *                                  the same item.
+   */
+  public synchronized void addContract(Contract contract) {
+    if (contract == null) {
+      throw new IllegalArgumentException("Contract cannot be null.");
+    }
+    if (!contract.isProcessed()) {
+      ItemBookings bookings = bookingsByItem.get(contract.getItemId());
+      if (bookings == null) {
+        bookings = new ItemBookings();
+        bookingsByItem.put(contract.getItemId(), bookings);
+      }
+      bookings.add(contract);
+      DueContract entry = new DueContract(contract, addedCount);
+      dueContracts.add(entry);
+      pendingStarts.add(entry);
+      activeContracts.put(contract.getNumericId(), contract);
+      count(unprocessedByRenter, contract.getRenterId(), 1);
+      count(unprocessedByOwner, contract.getOwnerId(), 1);
+    } else {
+      archive.add(contract);
+    }
+    history = history.append(contract);
+    addedCount++;
+  }
+
+  /**
+   * Adds a batch of new contracts, all or nothing. The batch is sorted by item
+   * and start day and swept once, so overlaps between bookings in the batch
+   * are found next to each other, and each booking is checked once against
+   * the item's existing bookings.
+   *
+   * @param batch The unprocessed contracts to add.
+   * @throws IllegalArgumentException if the batch contains a null or
+   *                                  processed contract, or any booking
+   *                                  conflicts with another booking in the
+   *                                  batch or in the repository; nothing is
+   *                                  added then.
+   */
+  public synchronized void addContracts(List<Contract> batch) {
+    List<Contract> sorted = new ArrayList<>(batch);
+    for (Contract contract : sorted) {
+      if (contract == null || contract.isProcessed()) {
+        throw new IllegalArgumentException("Batch may only contain new contracts.");
+      }
+    }
+    sorted.sort(Comparator.comparingInt(Contract::getItemId).thenComparingInt(Contract::getStartDay));
+    Contract previous = null;
+    for (Contract contract : sorted) {
+      if (previous != null && previous.getItemId() == contract.getItemId()
+          && previous.getEndDay() >= contract.getStartDay()) {
+        throw new IllegalArgumentException("Bookings in the batch overlap for item " + contract.getItemId() + ".");
+      }
+      ItemBookings bookings = bookingsByItem.get(contract.getItemId());
+      if (bookings != null && bookings.overlaps(contract.getStartDay(), contract.getEndDay())) {
+        throw new IllegalArgumentException(
+            "The rental period conflicts with an existing contract for item " + contract.getItemId() + ".");
+      }
+      previous = contract;
+    }
+    for (Contract contract : batch) {
+      addContract(contract);
+    }
+  }
+
+  /**
+   * Checks if renting an item for a period conflicts with a booking of the
+   * same item. Both days are inclusive.
+   *
+   * @param item     The item to check.
+   * @param startDay The start day of the rental.
+   * @param endDay   The end day of the rental.
+   * @return true if a conflict exists; false otherwise.
+   */
+  public synchronized boolean hasDateConflict(Item item, int startDay, int endDay) {
+    ItemBookings bookings = bookingsByItem.get(item.getId());
+    return bookings != null && bookings.overlaps(startDay, endDay);
+  }
+
+  /**
+   * Checks if an item has a booking that has not ended before the current
+   * day.
+   *
+   * @param item       The item to check.
+   * @param currentDay The current system day.
+   * @return true if the item has a future or active contract; false otherwise.
+   */
+  public synchronized boolean isItemInvolvedInFutureOrActiveContract(Item item, int currentDay) {
+    if (item == null) {
+      return false;
+    }
+    ItemBookings bookings = bookingsByItem.get(item.getId());
+    return bookings != null && bookings.getLastEndDay() >= currentDay;
+  }
+
+  /**
+   * Checks if a member is the renter or the item owner of any unprocessed
+   * contract, including contracts waiting for a settlement retry or parked in
+   * the dead-letter queue. The owner of such a contract may no longer own
+   * the item, since a rental that has ended frees the item even if it is not
+   * paid yet.
+   *
+   * @param memberId The ID of the member.
+   * @return true if the member still pays or receives the settlement of a
+   *         contract; false otherwise.
+   */
+  public synchronized boolean hasUnprocessedContractsOf(String memberId) {
+    return unprocessedByRenter.containsKey(memberId) || unprocessedByOwner.containsKey(memberId);
+  }
+
+  /**
+   * Finds the earliest run of consecutive days, starting on or after a given
+   * day, on which an item has no booking.
+   *
+   * @param item    The item to check.
+   * @param fromDay The earliest day the rental may start.
+   * @param days    The number of days the rental lasts.
+   * @return The first day of the earliest free run.
+   * @throws IllegalArgumentException if the item is null, the day is negative
+   *                                  or the number of days is not positive.
+   */
+  public synchronized int findEarliestFreeWindow(Item item, int fromDay, int days) {
+    if (item == null) {
+      throw new IllegalArgumentException("Item cannot be null.");
+    }
+    if (fromDay < 0 || days <= 0) {
+      throw new IllegalArgumentException("Invalid start day or number of days.");
+    }
+    ItemBookings bookings = bookingsByItem.get(item.getId());
+    return bookings == null ? fromDay : bookings.findEarliestFreeWindow(fromDay, days);
+  }
+
+  /**
+   * Lists the items among the candidates that have no booking overlapping a
+   * period. Both days are inclusive.
+   *
+   * @param candidates The items to check, e.g. all items of one category.
+   * @param startDay   The first day of the period.
+   * @param endDay     The last day of the period.
+   * @return The free items, in the order of the candidates.
+   */
+  public synchronized List<Item> findFreeItems(List<Item> candidates, int startDay, int endDay) {
+    List<Item> free = new ArrayList<>();
+    for (Item item : candidates) {
+      ItemBookings bookings = bookingsByItem.get(item.getId());
+      if (bookings == null || !bookings.overlaps(startDay, endDay)) {
+        free.add(item);
+      }
+    }
+    return free;
+  }
+
+  /**
+   * Settles all unprocessed contracts due as of the specified day, earliest
+   * due day first and in order of addition within a day. A contract due for
+   * the first time has ended its rental period, so it releases its booking
+   * whether or not it can be paid. Settled contracts move to the archive. A
+   * contract whose renter cannot pay does not hold up the others: it is
+   * rescheduled with exponential backoff, one day after the first failure,
+   * then two, four and so on, and after {@value #MAX_ATTEMPTS} failed
+   * attempts it is parked in the dead-letter queue until
+   * {@link #requeueDeadLetters(int)} is called.
+   *
+   * @param currentDay The current system day.
+   * @return A report of the contracts settled, rescheduled and parked.
+   */
+  public synchronized SettlementReport processDueContracts(int currentDay) {
+    List<DueContract> due = new ArrayList<>();
+    while (!dueContracts.isEmpty() && dueContracts.peek().dueDay <= currentDay) {
+      due.add(dueContracts.poll());
+    }
+    List<Contract> batch = new ArrayList<>(due.size());
+    for (DueContract entry : due) {
+      batch.add(entry.contract);
+    }
+    SettlementReport report = new SettlementReport();
+    settlementEngine.settle(batch);
+    for (DueContract entry : due) {
+      if (entry.attempts == 0) {
+        release(entry.contract);
+        report.addEnded(entry.contract);
+      } else {
+        report.addRetried();
+      }
+      entry.attempts++;
+      if (entry.contract.isProcessed()) {
+        activeContracts.remove(entry.contract.getNumericId());
+        count(unprocessedByRenter, entry.contract.getRenterId(), -1);
+        count(unprocessedByOwner, entry.contract.getOwnerId(), -1);
+        archive.add(entry.contract);
+        report.addSettled(entry.contract);
+      } else if (++entry.failures >= MAX_ATTEMPTS) {
+        deadLetters.add(entry);
+        report.addDeadLettered(entry.contract);
+      } else {
+        // Saturate below Integer.MAX_VALUE, which means "no event".
+        entry.dueDay = (int) Math.min(Integer.MAX_VALUE - 1L,
+            (long) currentDay + (1L << (entry.failures - 1)));
+        dueContracts.add(entry);
+        report.addFailed(entry.contract);
+      }
+    }
+    return report;
+  }
+
+  /**
+   * Lists the contracts parked in the dead-letter queue after running out of
+   * settlement attempts.
+   *
+   * @return A new list of the parked contracts, oldest first.
+   */
+  public synchronized List<Contract> getDeadLetterContracts() {
+    List<Contract> contracts = new ArrayList<>(deadLetters.size());
+    for (DueContract entry : deadLetters) {
+      contracts.add(entry.contract);
+    }
+    return contracts;
+  }
+
+  /**
+   * Moves every contract in the dead-letter queue back into settlement with a
+   * fresh set of attempts, e.g. after its renter has topped up their credits.
+   * The attempts it already made still count, so its next attempt is
+   * reported as a retry.
+   *
+   * @param currentDay The day from which the contracts are due again.
+   * @return The number of contracts moved.
+   */
+  public synchronized int requeueDeadLetters(int currentDay) {
+    int count = deadLetters.size();
+    for (DueContract entry : deadLetters) {
+      entry.failures = 0;
+      entry.dueDay = currentDay;
+      dueContracts.add(entry);
+    }
+    deadLetters.clear();
+    return count;
+  }
+
+  /**
+   * Lists the unprocessed contracts whose rental has started as of the
+   * specified day and that have not been reported as started before.
+   *
+   * @param currentDay The current system day.
+   * @return The contracts that started since the last call, in order of start
+   *         day.
+   */
+  public synchronized List<Contract> startDueContracts(int currentDay) {
+    List<Contract> started = new ArrayList<>();
+    while (!pendingStarts.isEmpty() && pendingStarts.peek().contract.getStartDay() <= currentDay) {
+      Contract contract = pendingStarts.poll().contract;
+      if (!contract.isProcessed()) {
+        started.add(contract);
+      }
+    }
+    return started;
+  }
+
+  /**
+   * Gets the day of the next contract event: the earliest start day of a
+   * contract not yet reported as started, or the earliest day an unprocessed
+   * contract is due for settlement or a retry. Contracts in the dead-letter
+   * queue are not scheduled.
+   *
+   * @return The day of the next event, or {@link Integer#MAX_VALUE} if there
+   *         is none.
+   */
+  public synchronized int getNextEventDay() {
+    int next = Integer.MAX_VALUE;
+    if (!pendingStarts.isEmpty()) {
+      next = pendingStarts.peek().contract.getStartDay();
+    }
+    if (!dueContracts.isEmpty()) {
+      next = Math.min(next, dueContracts.peek().dueDay);
+    }
+    return next;
+  }
+
+  /**
+   * Gets the number of contracts that have not been processed yet.
+   *
+   * @return The unprocessed contract count.
+   */
+  public synchronized int countUnprocessedContracts() {
+    return dueContracts.size() + deadLetters.size();
+  }
+
+  /**
+   * Retrieves an immutable snapshot of all contracts, active and archived, in
+   * the order they were added; as IDs increase with creation time, that is
+   * ID order for contracts added as they are created. Later changes to the
+   * repository are not reflected in the snapshot.
+   *
+   * @return A read-only list of all contracts.
+   */
+  public List<Contract> getAllContractsCopy() {
+    return history;
+  }
+
+  /**
+   * Retrieves a snapshot of the active contracts in order of ID.
+   *
+   * @return A read-only list of the active contracts.
+   */
+  public synchronized List<Contract> getActiveContracts() {
+    return List.copyOf(activeContracts.values());
+  }
+
+  /**
+   * Retrieves the full contract history of an item across both tiers.
+   *
+   * @param itemId The ID of the item.
+   * @return A read-only list of the item's archived and active contracts.
+   */
+  public synchronized List<Contract> findContractsForItem(int itemId) {
+    List<Contract> contracts = archive.findByItem(itemId);
+    ItemBookings bookings = bookingsByItem.get(itemId);
+    if (bookings != null) {
+      contracts.addAll(bookings.getContracts());
+    }
+    return Collections.unmodifiableList(contracts);
+  }
+
+  /**
+   * Gets the number of contracts in the repository, across both tiers.
+   *
+   * @return The contract count.
+   */
+  public int size() {
+    return history.size();
+  }
+
+  /**
+   * Adjusts a member's count of unprocessed contracts, dropping the member
+   * once the count reaches zero.
+   */
+  private static void count(Map<String, Integer> counts, String memberId, int delta) {
+    counts.merge(memberId, delta, (current, change) -> current + change == 0 ? null : current + change);
+  }
+
+  private void release(Contract contract) {
+    ItemBookings bookings = bookingsByItem.get(contract.getItemId());
+    if (bookings != null) {
+      bookings.remove(contract);
+      if (bookings.isEmpty()) {
+        bookingsByItem.remove(contract.getItemId());
+      }
+    }
+  }
+
+  /**
+   * An unprocessed contract in the scheduling heaps, ordered by default by
+   * the day it is due for settlement and then by the order in which
+   * contracts were added. The due day starts as the contract's end day and
+   * moves later with every failed attempt. The failures since the contract
+   * was last requeued drive the backoff; the attempts are never reset.
+   */
+  private static class DueContract implements Comparable<DueContract> {
+    private final Contract contract;
+    private final long sequence;
+    private int dueDay;
+    private int attempts;
+    private int failures;
+
+    DueContract(Contract contract, long sequence) {
+      this.contract = contract;
+      this.sequence = sequence;
+      this.dueDay = contract.getEndDay();
+    }
+
+    @Override
+    public int compareTo(DueContract other) {
+      int order = Integer.compare(dueDay, other.dueDay);
+      return order != 0 ? order : Long.compare(sequence, other.sequence);
+    }
+  }
+}
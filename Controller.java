@@ -1,15 +1,27 @@
 package controller;
 
+import java.io.IOException;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import model.Contract;
 import model.ContractFactory;
+import model.ContractRepository;
 import model.DataInitializer;
 import model.Item;
 import model.ItemCategory;
 import model.ItemFactory;
+import model.ItemIdAllocator;
+import model.ItemRepository;
 import model.Member;
 import model.MemberFactory;
+import model.MemberIdAllocator;
+import model.MemberImporter;
+import model.MemberRepository;
+import model.SettlementReport;
+import model.SimulationClock;
 import model.Time;
 import view.MemberInfoView;
 import view.UserInterface;
@@ -19,12 +31,20 @@ import view.UserInterface;
  */
 public class Controller {
 
+  private static final int MEMBER_PAGE_SIZE = 20;
+  private static final double PRICE_BUCKET_WIDTH = 10;
+  private static final int PRICE_BUCKET_COUNT = 5;
+  private static final Path MEMBER_ID_STATE = Path.of("member-ids.state");
+  private static final Path ITEM_ID_STATE = Path.of("item-ids.state");
+
   private UserInterface ui;
-  private Member memberRepo;
-  private Item itemRepo;
-  private Contract contractRepo;
+  private MemberRepository memberRepo;
+  private ItemRepository itemRepo;
+  private ContractRepository contractRepo;
   private Time timeRepo;
+  private SimulationClock clock;
   private MemberFactory memberFac;
+  private MemberImporter memberImporter;
   private ItemFactory itemFac;
   private ContractFactory contractFac;
   private DataInitializer dataInitializer;
@@ -36,16 +56,19 @@ public class Controller {
    */
   public Controller(UserInterface ui) {
     this.ui = ui.copy();
-    this.memberRepo = new Member();
-    this.contractRepo = new Contract();
-    this.itemRepo = new Item();
-    this.contractFac = new ContractFactory();
-    this.memberFac = new MemberFactory();
+    restoreIdAllocators();
+    this.memberRepo = new MemberRepository();
+    this.contractRepo = new ContractRepository();
+    this.itemRepo = new ItemRepository();
+    this.contractFac = new ContractFactory(contractRepo);
+    this.memberFac = new MemberFactory(memberRepo);
+    this.memberImporter = new MemberImporter(memberRepo);
     this.itemFac = new ItemFactory();
     this.timeRepo = new Time();
+    this.clock = new SimulationClock(timeRepo, contractRepo, itemRepo);
     new Member();
     new MemberInfoView();
-    this.dataInitializer = new DataInitializer();
+    this.dataInitializer = new DataInitializer(memberRepo, itemRepo, contractRepo);
   }
 
   public void initializeData() {
@@ -80,6 +103,15 @@ public class Controller {
             running = false;
           }
           case LIST_MEMBERS_VERBOSE -> listMembersVerbose();
+          case IMPORT_MEMBERS -> importMembers();
+          case SEARCH_MEMBERS -> searchMembers();
+          case BROWSE_ITEMS_BY_CATEGORY -> browseItemsByCategory();
+          case SEARCH_ITEMS -> searchItems();
+          case FIND_FREE_DATES -> findFreeDates();
+          case FIND_FREE_ITEMS -> findFreeItems();
+          case BOOK_ITEMS -> bookItems();
+          case RETRY_FAILED_SETTLEMENTS -> retryFailedSettlements();
+          case ITEM_STATISTICS -> showItemStatistics();
           default -> ui.displayErrorMessage();
         }
       } else {
@@ -134,8 +166,9 @@ public class Controller {
       }
 
       try {
-        member.updateMember(newName, newEmail, newPhone);
-        ui.getMemberInfoView().displayMemberUpdateSuccess(member);
+        memberRepo.updateMember(member, newName, newEmail, newPhone);
+        ui.getMemberInfoView().displayMemberUpdateSuccess(member,
+            itemRepo.findItemsOwnedBy(member.getId()));
 
         break;
       } catch (IllegalArgumentException e) {
@@ -156,11 +189,13 @@ public class Controller {
       }
 
       memberOpt.ifPresentOrElse(member -> {
-        if (itemRepo.getAllItemsCopy().stream().noneMatch(item -> item.getOwner().equals(member))) {
+        if (itemRepo.hasItemsOwnedBy(member.getId())
+            || contractRepo.hasUnprocessedContractsOf(member.getId())) {
+          ui.deleteMemberErrorMessage();
+        } else {
           memberRepo.removeMember(member);
+          Member.getCreditLedger().closeAccount(member.getId());
           ui.deleteMemberSuccessMessage();
-        } else {
-          ui.deleteMemberErrorMessage();
         }
       }, () -> ui.memberNotFound());
       break;
@@ -171,9 +206,7 @@ public class Controller {
     while (true) {
       try {
 
-        List<Member> members = memberRepo.getAllMembersCopy();
-
-        Object[] itemData = ui.getItemInfoView().collectItemCreationInput(members);
+        Object[] itemData = ui.getItemInfoView().collectItemCreationInput(memberRepo);
 
         String name = (String) itemData[0];
         String description = (String) itemData[1];
@@ -227,7 +260,7 @@ public class Controller {
             return;
           }
 
-          item.updateItem(newName, newDescription, newCategory, newCostPerDay);
+          itemRepo.updateItem(item, newName, newDescription, newCategory, newCostPerDay);
           ui.getItemInfoView().displayItemUpdateSuccess(item);
 
         } catch (ClassCastException e) {
@@ -246,13 +279,12 @@ public class Controller {
 
       if (itemOpt.isPresent()) {
         Item item = itemOpt.get();
-        if (contractRepo.isItemInvolvedInFutureOrActiveContract(item)) {
+        if (contractRepo.isItemInvolvedInFutureOrActiveContract(item, timeRepo.getCurrentDay())) {
           ui.deleteItemFaild();
           break;
         } else {
-          if (item.getOwner() != null) {
-            item.getOwner().removeItem(item);
-          }
+          memberRepo.findMemberById(item.getOwnerId())
+              .ifPresent(owner -> owner.removeItem(item));
           itemRepo.removeItem(item);
           ui.deleteItemSuccess();
           break;
@@ -292,8 +324,7 @@ public class Controller {
             continue;
           }
 
-          Contract contract = contractFac.createContract(itemOpt.get(), renterOpt.get(),
-              startDay, endDay);
+          Contract contract = contractFac.createContract(item, renterOpt.get(), startDay, endDay);
           contractRepo.addContract(contract);
           ui.getContractInfoView().displayContractCreationSuccess(contract);
 
@@ -307,13 +338,43 @@ public class Controller {
     }
   }
 
+  private void bookItems() {
+    try {
+      String renterId = ui.promptForString("Enter the renter member ID:");
+      int startDay = Integer.parseInt(ui.promptForString("Enter the start day:"));
+      int endDay = Integer.parseInt(ui.promptForString("Enter the end day:"));
+      String itemIds = ui.promptForString("Enter the item IDs, separated by commas:");
+      Optional<Member> renterOpt = memberRepo.findMemberById(renterId);
+      if (renterOpt.isEmpty()) {
+        ui.invalidRenterId();
+        return;
+      }
+      List<ContractFactory.BookingRequest> requests = new ArrayList<>();
+      for (String itemId : itemIds.split(",")) {
+        Optional<Item> itemOpt = itemRepo.findItemById(Integer.parseInt(itemId.trim()));
+        if (itemOpt.isEmpty()) {
+          ui.itemNotFound();
+          return;
+        }
+        requests.add(new ContractFactory.BookingRequest(itemOpt.get(), renterOpt.get(), startDay, endDay));
+      }
+      List<Contract> contracts = contractFac.createContracts(requests);
+      contractRepo.addContracts(contracts);
+      for (Contract contract : contracts) {
+        ui.getContractInfoView().displayContractCreationSuccess(contract);
+      }
+    } catch (IllegalArgumentException e) {
+      ui.displayMessage("Booking failed, nothing was booked: " + e.getMessage());
+    }
+  }
+
   private void advanceDay() {
     while (true) {
       int daysToAdvance = ui.numOfDays();
       if (daysToAdvance > 0) {
-        timeRepo.advanceDays(daysToAdvance);
+        SettlementReport report = clock.advanceDays(daysToAdvance);
         ui.displayDayAdvanced(timeRepo.getCurrentDay());
-        contractRepo.processDueContracts(timeRepo.getCurrentDay());
+        ui.getContractInfoView().displaySettlementReport(report);
 
         break;
       } else {
@@ -322,20 +383,82 @@ public class Controller {
     }
   }
 
+  private void importMembers() {
+    String path = ui.promptForString("Enter the path of the CSV or JSONL file to import:");
+    try {
+      MemberImporter.ImportReport report = memberImporter.importFile(Path.of(path));
+      ui.getMemberInfoView().displayImportReport(report);
+    } catch (IOException | InvalidPathException e) {
+      ui.displayErrorMessage();
+    }
+  }
+
+  private void searchMembers() {
+    String query = ui.promptForString("Enter a name or the start of a name:");
+    List<Member> matches = memberRepo.searchByName(query, 10);
+    ui.getMemberInfoView().displayMembersSimple(matches);
+  }
+
   private void exitApplication() {
+    saveIdAllocators();
     ui.displayExitMessage();
   }
 
+  /**
+   * Restores the ID allocators saved on the last exit, so IDs issued in this
+   * run never repeat those of earlier runs.
+   */
+  private void restoreIdAllocators() {
+    try {
+      Member.setIdAllocator(MemberIdAllocator.load(MEMBER_ID_STATE));
+    } catch (IOException e) {
+      ui.displayMessage("Could not restore the member ID state: " + e.getMessage());
+    }
+    try {
+      Item.setIdAllocator(ItemIdAllocator.load(ITEM_ID_STATE));
+    } catch (IOException e) {
+      ui.displayMessage("Could not restore the item ID state: " + e.getMessage());
+    }
+  }
+
+  private void saveIdAllocators() {
+    try {
+      Member.getIdAllocator().save(MEMBER_ID_STATE);
+    } catch (IOException e) {
+      ui.displayMessage("Could not save the member ID state: " + e.getMessage());
+    }
+    try {
+      Item.getIdAllocator().save(ITEM_ID_STATE);
+    } catch (IOException e) {
+      ui.displayMessage("Could not save the item ID state: " + e.getMessage());
+    }
+  }
+
   private void listMembersSimple() {
-    ui.getMemberInfoView().displayMembersSimple(dataInitializer.getAllMembersCopy(), memberRepo.getAllMembersCopy());
-    // List<Member> members = memberRepo.getAllMembersCopy();
-    // ui.getMemberInfoView().displayMembersSimple(members);
+    listMembersInPages(false);
   }
 
   private void listMembersVerbose() {
-    ui.getMemberInfoView().displayMembersVerbose(dataInitializer.getAllMembersCopy(), memberRepo.getAllMembersCopy());
-    // List<Member> members = memberRepo.getAllMembersCopy();
-    // ui.getMemberInfoView().displayMembersVerbose(members);
+    listMembersInPages(true);
+  }
+
+  private void listMembersInPages(boolean verbose) {
+    String sort = ui.promptForString("Sort members by ID or NAME (default ID):");
+    MemberRepository.SortOrder order = "NAME".equalsIgnoreCase(sort)
+        ? MemberRepository.SortOrder.NAME
+        : MemberRepository.SortOrder.ID;
+
+    String cursor = null;
+    do {
+      MemberRepository.Page page = memberRepo.getPage(order, cursor, MEMBER_PAGE_SIZE);
+      if (verbose) {
+        ui.getMemberInfoView().displayMembersVerbose(page.getMembers(), itemRepo);
+      } else {
+        ui.getMemberInfoView().displayMembersSimple(page.getMembers());
+      }
+      cursor = page.getNextCursor();
+    } while (cursor != null
+        && ui.promptForString("Press Enter for the next page, or type q to stop:").isEmpty());
   }
 
   private void listItems() {
@@ -344,6 +467,85 @@ public class Controller {
     ui.getItemInfoView().displayItems(items);
   }
 
+  private void browseItemsByCategory() {
+    try {
+      ItemCategory category = ItemCategory.fromString(ui.promptForString(
+          "Enter the item category (Options: VEHICLE, TOOL, ELECTRONICS, FURNITURE, OTHER):"));
+      String maxCost = ui.promptForString("Enter the maximum cost per day (leave empty for no limit):");
+      double limit = maxCost.isEmpty() ? Double.POSITIVE_INFINITY : Double.parseDouble(maxCost);
+      boolean availableOnly = "y".equalsIgnoreCase(
+          ui.promptForString("Show only items that are available now? (y/N):"));
+      List<Item> items = availableOnly
+          ? itemRepo.findAvailableItems(category, limit)
+          : itemRepo.findItemsInCategoryBelow(category, limit);
+      ui.getItemInfoView().displayItems(items);
+    } catch (IllegalArgumentException e) {
+      ui.displayErrorMessage();
+    }
+  }
+
+  private void showItemStatistics() {
+    ui.getItemInfoView().displayItemStatistics(itemRepo.size(), itemRepo.countAvailableItems(),
+        itemRepo.countItemsByCategory(), itemRepo.getAverageCostByCategory());
+    String category = ui.promptForString("Enter a category for a price breakdown (leave empty to skip):");
+    if (category.isEmpty()) {
+      return;
+    }
+    try {
+      ItemCategory parsed = ItemCategory.fromString(category);
+      ui.getItemInfoView().displayPriceBuckets(parsed, PRICE_BUCKET_WIDTH,
+          itemRepo.countItemsByPriceBucket(parsed, PRICE_BUCKET_WIDTH, PRICE_BUCKET_COUNT));
+    } catch (IllegalArgumentException e) {
+      ui.displayErrorMessage();
+    }
+  }
+
+  private void searchItems() {
+    String query = ui.promptForString("Enter words to search for (separate with OR to match any):");
+    List<Item> matches = itemRepo.searchItems(query, 20);
+    ui.getItemInfoView().displayItems(matches);
+  }
+
+  private void findFreeDates() {
+    try {
+      int itemId = Integer.parseInt(ui.promptForString("Enter the item ID:"));
+      int fromDay = Integer.parseInt(ui.promptForString("Enter the earliest start day:"));
+      int days = Integer.parseInt(ui.promptForString("Enter the number of days:"));
+      Optional<Item> itemOpt = itemRepo.findItemById(itemId);
+      if (itemOpt.isEmpty()) {
+        ui.itemNotFound();
+        return;
+      }
+      int startDay = contractRepo.findEarliestFreeWindow(itemOpt.get(), fromDay, days);
+      ui.displayMessage("The item is free from day " + startDay + " to day " + (startDay + days - 1) + ".");
+    } catch (IllegalArgumentException e) {
+      ui.displayErrorMessage();
+    }
+  }
+
+  private void findFreeItems() {
+    try {
+      ItemCategory category = ItemCategory.fromString(ui.promptForString(
+          "Enter the item category (Options: VEHICLE, TOOL, ELECTRONICS, FURNITURE, OTHER):"));
+      int startDay = Integer.parseInt(ui.promptForString("Enter the start day:"));
+      int endDay = Integer.parseInt(ui.promptForString("Enter the end day:"));
+      List<Item> candidates = itemRepo.findItemsInCategoryBelow(category, Double.POSITIVE_INFINITY);
+      ui.getItemInfoView().displayItems(contractRepo.findFreeItems(candidates, startDay, endDay));
+    } catch (IllegalArgumentException e) {
+      ui.displayErrorMessage();
+    }
+  }
+
+  private void retryFailedSettlements() {
+    List<Contract> failed = contractRepo.getDeadLetterContracts();
+    if (failed.isEmpty()) {
+      ui.displayMessage("There are no failed settlements.");
+      return;
+    }
+    contractRepo.requeueDeadLetters(timeRepo.getCurrentDay());
+    ui.getContractInfoView().displaySettlementReport(clock.advanceDays(0));
+  }
+
   private void listContracts() {
     List<Contract> contracts = contractRepo.getAllContractsCopy();
     if (contracts.isEmpty()) {
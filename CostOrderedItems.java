@@ -0,0 +1,138 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Items ordered by cost per day, with the item ID breaking ties. The items
+ * are kept in a treap whose nodes know the size of their subtree, so
+ * insertion, removal and counting the items below a price all take
+ * logarithmic time, and listing the k cheapest items takes O(log n + k).
+ * Items must be removed before their cost changes and added again afterwards.
+ */
+public class CostOrderedItems {
+
+  private Node root;
+
+  /**
+   * Adds an item, keyed by its current cost per day and ID.
+   *
+   * @param item The item to add.
+   */
+  public void add(Item item) {
+    Node node = new Node(item);
+    Node[] parts = new Node[2];
+    TreapNode.split(root, other -> compare(node.cost, node.id, other) > 0, parts);
+    root = TreapNode.merge(TreapNode.merge(parts[0], node), parts[1]);
+  }
+
+  /**
+   * Removes an item, located by its current cost per day and ID.
+   *
+   * @param item The item to remove.
+   */
+  public void remove(Item item) {
+    root = remove(root, item.getCostPerDay(), item.getId());
+  }
+
+  /**
+   * Gets the number of items.
+   *
+   * @return The item count.
+   */
+  public int size() {
+    return size(root);
+  }
+
+  /**
+   * Counts the items that cost strictly less than the given amount per day.
+   *
+   * @param cost The exclusive upper bound on the cost per day.
+   * @return The number of cheaper items.
+   */
+  public int countBelow(double cost) {
+    int count = 0;
+    Node node = root;
+    while (node != null) {
+      if (node.cost < cost) {
+        count += size(node.left) + 1;
+        node = node.right;
+      } else {
+        node = node.left;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Lists the items that cost strictly less than the given amount per day,
+   * cheapest first.
+   *
+   * @param cost  The exclusive upper bound on the cost per day.
+   * @param limit The maximum number of items to return.
+   * @return The matching items in ascending order of cost.
+   */
+  public List<Item> below(double cost, int limit) {
+    List<Item> items = new ArrayList<>();
+    collectBelow(root, cost, limit, items);
+    return items;
+  }
+
+  private void collectBelow(Node node, double cost, int limit, List<Item> items) {
+    if (node == null || items.size() >= limit) {
+      return;
+    }
+    collectBelow(node.left, cost, limit, items);
+    if (node.cost < cost && items.size() < limit) {
+      items.add(node.item);
+      collectBelow(node.right, cost, limit, items);
+    }
+  }
+
+  private Node remove(Node node, double cost, int id) {
+    if (node == null) {
+      return null;
+    }
+    int order = compare(cost, id, node);
+    if (order == 0) {
+      return TreapNode.merge(node.left, node.right);
+    }
+    if (order < 0) {
+      node.left = remove(node.left, cost, id);
+    } else {
+      node.right = remove(node.right, cost, id);
+    }
+    node.update();
+    return node;
+  }
+
+  private static int compare(double cost, int id, Node node) {
+    int order = Double.compare(cost, node.cost);
+    return order != 0 ? order : Integer.compare(id, node.id);
+  }
+
+  private static int size(Node node) {
+    return node == null ? 0 : node.size;
+  }
+
+  /**
+   * A treap node holding one item and the size of its subtree.
+   */
+  private static class Node extends TreapNode<Node> {
+    private final Item item;
+    private final double cost;
+    private final int id;
+    private int size = 1;
+
+    Node(Item item) {
+      this.item = item;
+      this.cost = item.getCostPerDay();
+      this.id = item.getId();
+    }
+
+    @Override
+    void update() {
+      size = 1 + CostOrderedItems.size(left) + CostOrderedItems.size(right);
+    }
+  }
+}
@@ -0,0 +1,149 @@
+package model;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps the credit balance of every member as a whole number of minor units
+ * (hundredths of a credit), so repeated settlements never drift through
+ * floating-point rounding. Balances are keyed by member ID and guarded by a
+ * fixed set of striped locks: a transfer locks the stripes of both members in
+ * index order, which makes it atomic and deadlock-free while transfers between
+ * unrelated members run in parallel. Reads are lock-free.
+ */
+public class CreditLedger {
+
+  private static final int STRIPE_COUNT = 64;
+  private static final long MINOR_UNITS_PER_CREDIT = 100;
+
+  private final Map<String, Long> balances = new ConcurrentHashMap<>();
+  private final ReentrantLock[] stripes = new ReentrantLock[STRIPE_COUNT];
+
+  /**
+   * Constructs an empty ledger.
+   */
+  public CreditLedger() {
+    for (int i = 0; i < STRIPE_COUNT; i++) {
+      stripes[i] = new ReentrantLock();
+    }
+  }
+
+  /**
+   * Gets the balance of a member.
+   *
+   * @param memberId The ID of the member.
+   * @return The balance in minor units, or 0 if the member has no account.
+   */
+  public long getBalance(String memberId) {
+    return memberId == null ? 0 : balances.getOrDefault(memberId, 0L);
+  }
+
+  /**
+   * Sets the balance of a member, opening an account if needed.
+   *
+   * @param memberId The ID of the member.
+   * @param amount   The new balance in minor units; must not be negative.
+   * @throws IllegalArgumentException if the ID is null or the amount negative.
+   */
+  public void setBalance(String memberId, long amount) {
+    if (memberId == null) {
+      throw new IllegalArgumentException("Member ID cannot be null.");
+    }
+    if (amount < 0) {
+      throw new IllegalArgumentException("Balance cannot be negative.");
+    }
+    ReentrantLock lock = stripeFor(memberId);
+    lock.lock();
+    try {
+      balances.put(memberId, amount);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Closes the account of a member, discarding its balance.
+   *
+   * @param memberId The ID of the member.
+   */
+  public void closeAccount(String memberId) {
+    if (memberId == null) {
+      return;
+    }
+    ReentrantLock lock = stripeFor(memberId);
+    lock.lock();
+    try {
+      balances.remove(memberId);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Atomically moves credits from one member to another.
+   *
+   * @param fromId The ID of the paying member.
+   * @param toId   The ID of the receiving member.
+   * @param amount The amount to move in minor units; must not be negative.
+   * @throws IllegalArgumentException     if an ID is null or the amount
+   *                                      negative.
+   * @throws InsufficientCreditsException if the paying member has
+   *                                      insufficient credits.
+   */
+  public void transfer(String fromId, String toId, long amount) {
+    if (fromId == null || toId == null) {
+      throw new IllegalArgumentException("Member IDs cannot be null.");
+    }
+    if (amount < 0) {
+      throw new IllegalArgumentException("Transfer amount cannot be negative.");
+    }
+
+    int fromStripe = stripeIndex(fromId);
+    int toStripe = stripeIndex(toId);
+    ReentrantLock first = stripes[Math.min(fromStripe, toStripe)];
+    ReentrantLock second = stripes[Math.max(fromStripe, toStripe)];
+    first.lock();
+    second.lock();
+    try {
+      long fromBalance = getBalance(fromId);
+      if (fromBalance < amount) {
+        throw new InsufficientCreditsException("Insufficient credits. Contract cannot be processed.");
+      }
+      balances.put(fromId, fromBalance - amount);
+      balances.put(toId, getBalance(toId) + amount);
+    } finally {
+      second.unlock();
+      first.unlock();
+    }
+  }
+
+  /**
+   * Converts a credit amount to minor units, rounding to the nearest unit.
+   *
+   * @param credits The amount in credits.
+   * @return The amount in minor units.
+   */
+  public static long toMinorUnits(double credits) {
+    return Math.round(credits * MINOR_UNITS_PER_CREDIT);
+  }
+
+  /**
+   * Converts an amount in minor units to credits.
+   *
+   * @param minorUnits The amount in minor units.
+   * @return The amount in credits.
+   */
+  public static double toCredits(long minorUnits) {
+    return (double) minorUnits / MINOR_UNITS_PER_CREDIT;
+  }
+
+  private ReentrantLock stripeFor(String memberId) {
+    return stripes[stripeIndex(memberId)];
+  }
+
+  private int stripeIndex(String memberId) {
+    int hash = memberId.hashCode();
+    return (hash ^ (hash >>> 16)) & (STRIPE_COUNT - 1);
+  }
+}
@@ -1,7 +1,5 @@
 package model;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Optional;
 
 /**
@@ -12,18 +10,30 @@ import java.util.Optional;
  */
 public class DataInitializer {
 
-  private MemberFactory memberFac = new MemberFactory();
-  private List<Member> memberRepo = new ArrayList<>();
+  private MemberRepository memberRepo;
+  private MemberFactory memberFac;
   private ItemFactory itemFac = new ItemFactory();
-  private ContractFactory contractFac = new ContractFactory();
-  private Item itemRepo = new Item();
-  private List<Contract> contractRepo = new ArrayList<>();
+  private ContractFactory contractFac;
+  private ItemRepository itemRepo;
+  private ContractRepository contractRepo;
 
   /**
    * Constructs a new instance of {@code DataInitializer} and initializes required
    * dependencies.
+   *
+   * @param memberRepo   The repository the sample members are registered in.
+   * @param itemRepo     The repository the sample items are registered in.
+   * @param contractRepo The repository the sample contracts are registered in.
    */
-  public DataInitializer() {
+  public DataInitializer(
+      MemberRepository memberRepo,
+      ItemRepository itemRepo,
+      ContractRepository contractRepo) {
+    this.memberRepo = memberRepo;
+    this.itemRepo = itemRepo;
+    this.contractRepo = contractRepo;
+    this.memberFac = new MemberFactory(memberRepo);
+    this.contractFac = new ContractFactory(contractRepo);
   }
 
   /**
@@ -44,11 +54,11 @@ public class DataInitializer {
     // Initialize and add exactly two items for m1 with validation
     if (m1.isPresent()) {
       createAndAddItem("Bicycle", "Mountain bike", ItemCategory.VEHICLE, 50, m1.get());
-      createAndAddItem("Hammer", "A sturdy hammer", ItemCategory.TOOL, 10, m1.get());
+      Optional<Item> i2 = createAndAddItem(
+          "Hammer", "A sturdy hammer", ItemCategory.TOOL, 10, m1.get());
 
       // Create a rental contract if items and m3 are available
       if (m3.isPresent()) {
-        Optional<Item> i2 = itemRepo.findItemById(2); // Assuming the item with ID 2 exists
         if (i2.isPresent()) {
           createAndAddContract(i2.get(), m3.get(), 5, 7); // Contract from day 5 to day 7
         }
@@ -64,7 +74,7 @@ public class DataInitializer {
     try {
       Member member = memberFac.createMember(name, email, phone);
       member.setCredits(credits);
-      memberRepo.add(member);
+      memberRepo.addMember(member);
       return Optional.of(member);
     } catch (IllegalArgumentException e) {
       System.err.println("Failed to create member: " + e.getMessage());
@@ -72,10 +82,6 @@ public class DataInitializer {
     }
   }
 
-  public List<Member> getAllMembersCopy() {
-    return new ArrayList<>(memberRepo);
-  }
-
   private Optional<Item> createAndAddItem(
       String name,
       String description,
@@ -100,8 +106,7 @@ public class DataInitializer {
       int endDay) {
     try {
       Contract contract = contractFac.createContract(item, renter, startDay, endDay);
-      contract.addContract(contract);
-      contractRepo.add(contract);
+      contractRepo.addContract(contract);
       return Optional.of(contract);
     } catch (IllegalArgumentException e) {
       System.err.println("Failed to create contract: " + e.getMessage());
@@ -0,0 +1,20 @@
+package model;
+
+/**
+ * Thrown when a member's credit balance does not cover a transfer. The
+ * balance is left unchanged, so the transfer can be retried once the member
+ * has topped up.
+ */
+public class InsufficientCreditsException extends IllegalStateException {
+
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * Constructs the exception with the given detail message.
+   *
+   * @param message The detail message.
+   */
+  public InsufficientCreditsException(String message) {
+    super(message);
+  }
+}
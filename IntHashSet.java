@@ -0,0 +1,171 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * A set of primitive {@code int} values backed by an open-addressing hash
+ * table with linear probing. Adding, removing and checking membership run in
+ * constant expected time without boxing or per-entry nodes, and a value can
+ * only be contained once.
+ */
+public class IntHashSet {
+
+  private static final int FREE = 0; // Marks an empty slot; zero is tracked separately
+  private static final int DEFAULT_CAPACITY = 8;
+
+  private int[] slots;
+  private int size;
+  private boolean containsZero;
+
+  /**
+   * Constructs an empty set.
+   */
+  public IntHashSet() {
+    this.slots = new int[DEFAULT_CAPACITY];
+  }
+
+  /**
+   * Copy constructor creating a set with the same values as another set.
+   *
+   * @param other The set to copy.
+   */
+  public IntHashSet(IntHashSet other) {
+    this.slots = other.slots.clone();
+    this.size = other.size;
+    this.containsZero = other.containsZero;
+  }
+
+  /**
+   * Adds a value to the set.
+   *
+   * @param value The value to add.
+   * @return true if the value was added; false if it was already present.
+   */
+  public boolean add(int value) {
+    if (value == FREE) {
+      if (containsZero) {
+        return false;
+      }
+      containsZero = true;
+      size++;
+      return true;
+    }
+    int index = indexOf(value);
+    if (slots[index] == value) {
+      return false;
+    }
+    slots[index] = value;
+    size++;
+    if (size * 2 > slots.length) {
+      resize(slots.length * 2);
+    }
+    return true;
+  }
+
+  /**
+   * Removes a value from the set.
+   *
+   * @param value The value to remove.
+   * @return true if the value was removed; false if it was not present.
+   */
+  public boolean remove(int value) {
+    if (value == FREE) {
+      if (!containsZero) {
+        return false;
+      }
+      containsZero = false;
+      size--;
+      return true;
+    }
+    int index = indexOf(value);
+    if (slots[index] != value) {
+      return false;
+    }
+    slots[index] = FREE;
+    size--;
+    IntHashing.shiftBack(slots, index, i -> slots[i] != FREE, (from, to) -> slots[from] = FREE);
+    return true;
+  }
+
+  /**
+   * Checks if a value is in the set.
+   *
+   * @param value The value to look for.
+   * @return true if the value is present; false otherwise.
+   */
+  public boolean contains(int value) {
+    if (value == FREE) {
+      return containsZero;
+    }
+    return slots[indexOf(value)] == value;
+  }
+
+  /**
+   * Gets the number of values in the set.
+   *
+   * @return The set size.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Checks if the set is empty.
+   *
+   * @return true if the set contains no values; false otherwise.
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Removes all values from the set.
+   */
+  public void clear() {
+    Arrays.fill(slots, FREE);
+    size = 0;
+    containsZero = false;
+  }
+
+  /**
+   * Returns the values of the set in ascending order.
+   *
+   * @return A new array containing all values.
+   */
+  public int[] toSortedArray() {
+    int[] values = new int[size];
+    int count = 0;
+    if (containsZero) {
+      values[count++] = FREE;
+    }
+    for (int slot : slots) {
+      if (slot != FREE) {
+        values[count++] = slot;
+      }
+    }
+    Arrays.sort(values);
+    return values;
+  }
+
+  /**
+   * Finds the slot holding the value, or the free slot where it would go.
+   */
+  private int indexOf(int value) {
+    int mask = slots.length - 1;
+    int index = IntHashing.mix(value) & mask;
+    while (slots[index] != FREE && slots[index] != value) {
+      index = (index + 1) & mask;
+    }
+    return index;
+  }
+
+  private void resize(int capacity) {
+    int[] old = slots;
+    slots = new int[capacity];
+    for (int value : old) {
+      if (value != FREE) {
+        slots[indexOf(value)] = value;
+      }
+    }
+  }
+}
@@ -0,0 +1,68 @@
+package model;
+
+import java.util.function.IntPredicate;
+
+/**
+ * Hashing and deletion shared by the open-addressing tables with primitive
+ * {@code int} keys and linear probing in this package. Every such table keeps
+ * its keys in an {@code int} array whose length is a power of two, and marks
+ * empty slots in its own way, so it passes in how to tell an occupied slot
+ * and how to move the rest of an entry.
+ */
+final class IntHashing {
+
+  private IntHashing() {
+  }
+
+  /**
+   * Receives the entries a backward shift moves.
+   */
+  @FunctionalInterface
+  interface EntryMover {
+
+    /**
+     * Moves everything but the key of the entry in one slot to another and
+     * marks the slot it left empty. The key has already been copied.
+     *
+     * @param from The slot the entry leaves.
+     * @param to   The slot the entry moves to.
+     */
+    void move(int from, int to);
+  }
+
+  /**
+   * Spreads a key over the table so that runs of consecutive keys do not
+   * cluster in consecutive slots.
+   *
+   * @param key The key.
+   * @return The hash, to be masked to the table size.
+   */
+  static int mix(int key) {
+    int hash = key * 0x9E3779B9;
+    return hash ^ (hash >>> 16);
+  }
+
+  /**
+   * Moves later entries of the probe sequence into a freed slot so lookups
+   * never stop early at a hole.
+   *
+   * @param keys     The keys of the table.
+   * @param freed    The slot just emptied.
+   * @param occupied Tells whether a slot holds an entry.
+   * @param mover    Moves the rest of an entry along with its key.
+   */
+  static void shiftBack(int[] keys, int freed, IntPredicate occupied, EntryMover mover) {
+    int mask = keys.length - 1;
+    int index = (freed + 1) & mask;
+    while (occupied.test(index)) {
+      int home = mix(keys[index]) & mask;
+      // Move the entry if its home slot is not between the hole and itself.
+      if (((index - home) & mask) >= ((index - freed) & mask)) {
+        keys[freed] = keys[index];
+        mover.move(index, freed);
+        freed = index;
+      }
+      index = (index + 1) & mask;
+    }
+  }
+}
@@ -0,0 +1,137 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * A map from primitive {@code int} keys to non-negative {@code int} values
+ * backed by an open-addressing hash table with linear probing. Keys and values
+ * live in two parallel primitive arrays, so neither is boxed, there is no
+ * per-entry node, and no operation but a resize allocates.
+ */
+public class IntIntHashMap {
+
+  /**
+   * The value returned for keys that are not present.
+   */
+  public static final int MISSING = -1;
+
+  private static final int DEFAULT_CAPACITY = 16;
+
+  private int[] keys;
+  private int[] values; // A negative value marks an empty slot
+  private int size;
+
+  /**
+   * Constructs an empty map.
+   */
+  public IntIntHashMap() {
+    this.keys = new int[DEFAULT_CAPACITY];
+    this.values = emptyValues(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Gets the value stored for a key.
+   *
+   * @param key The key to look up.
+   * @return The value, or {@link #MISSING} if the key is not present.
+   */
+  public int get(int key) {
+    return values[indexOf(key)];
+  }
+
+  /**
+   * Stores a value for a key, replacing any previous value.
+   *
+   * @param key   The key.
+   * @param value The value; must not be negative.
+   * @return The previous value, or {@link #MISSING} if the key was not
+   *         present.
+   * @throws IllegalArgumentException if the value is negative.
+   */
+  public int put(int key, int value) {
+    if (value < 0) {
+      throw new IllegalArgumentException("Value cannot be negative.");
+    }
+    int index = indexOf(key);
+    int previous = values[index];
+    keys[index] = key;
+    values[index] = value;
+    if (previous == MISSING) {
+      size++;
+      if (size * 2 > keys.length) {
+        resize(keys.length * 2);
+      }
+    }
+    return previous;
+  }
+
+  /**
+   * Removes a key from the map.
+   *
+   * @param key The key to remove.
+   * @return The removed value, or {@link #MISSING} if the key was not present.
+   */
+  public int remove(int key) {
+    int index = indexOf(key);
+    int previous = values[index];
+    if (previous == MISSING) {
+      return MISSING;
+    }
+    values[index] = MISSING;
+    size--;
+    IntHashing.shiftBack(keys, index, i -> values[i] != MISSING, (from, to) -> {
+      values[to] = values[from];
+      values[from] = MISSING;
+    });
+    return previous;
+  }
+
+  /**
+   * Gets the number of entries in the map.
+   *
+   * @return The map size.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Removes all entries from the map.
+   */
+  public void clear() {
+    Arrays.fill(values, MISSING);
+    size = 0;
+  }
+
+  /**
+   * Finds the slot holding the key, or the empty slot where it would go.
+   */
+  private int indexOf(int key) {
+    int mask = keys.length - 1;
+    int index = IntHashing.mix(key) & mask;
+    while (values[index] != MISSING && keys[index] != key) {
+      index = (index + 1) & mask;
+    }
+    return index;
+  }
+
+  private void resize(int capacity) {
+    int[] oldKeys = keys;
+    int[] oldValues = values;
+    keys = new int[capacity];
+    values = emptyValues(capacity);
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldValues[i] != MISSING) {
+        int index = indexOf(oldKeys[i]);
+        keys[index] = oldKeys[i];
+        values[index] = oldValues[i];
+      }
+    }
+  }
+
+  private static int[] emptyValues(int capacity) {
+    int[] values = new int[capacity];
+    Arrays.fill(values, MISSING);
+    return values;
+  }
+}
@@ -0,0 +1,140 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * A map from primitive {@code int} keys to objects backed by an
+ * open-addressing hash table with linear probing. Keys and values live in two
+ * parallel arrays, so there is no {@code Integer} boxing and no per-entry node,
+ * and lookups do not allocate.
+ *
+ * @param <V> The type of the values.
+ */
+public class IntObjectHashMap<V> {
+
+  private static final int DEFAULT_CAPACITY = 16;
+
+  private int[] keys;
+  private Object[] values; // A null value marks an empty slot
+  private int size;
+
+  /**
+   * Constructs an empty map.
+   */
+  public IntObjectHashMap() {
+    this.keys = new int[DEFAULT_CAPACITY];
+    this.values = new Object[DEFAULT_CAPACITY];
+  }
+
+  /**
+   * Gets the value stored for a key.
+   *
+   * @param key The key to look up.
+   * @return The value, or null if the key is not present.
+   */
+  @SuppressWarnings("unchecked")
+  public V get(int key) {
+    return (V) values[indexOf(key)];
+  }
+
+  /**
+   * Checks if a key is present in the map.
+   *
+   * @param key The key to look up.
+   * @return true if the key is present; false otherwise.
+   */
+  public boolean containsKey(int key) {
+    return values[indexOf(key)] != null;
+  }
+
+  /**
+   * Stores a value for a key, replacing any previous value.
+   *
+   * @param key   The key.
+   * @param value The value; must not be null.
+   * @return The previous value, or null if the key was not present.
+   * @throws IllegalArgumentException if the value is null.
+   */
+  @SuppressWarnings("unchecked")
+  public V put(int key, V value) {
+    if (value == null) {
+      throw new IllegalArgumentException("Value cannot be null.");
+    }
+    int index = indexOf(key);
+    V previous = (V) values[index];
+    keys[index] = key;
+    values[index] = value;
+    if (previous == null) {
+      size++;
+      if (size * 2 > keys.length) {
+        resize(keys.length * 2);
+      }
+    }
+    return previous;
+  }
+
+  /**
+   * Removes a key from the map.
+   *
+   * @param key The key to remove.
+   * @return The removed value, or null if the key was not present.
+   */
+  @SuppressWarnings("unchecked")
+  public V remove(int key) {
+    int index = indexOf(key);
+    V previous = (V) values[index];
+    if (previous == null) {
+      return null;
+    }
+    values[index] = null;
+    size--;
+    IntHashing.shiftBack(keys, index, i -> values[i] != null, (from, to) -> {
+      values[to] = values[from];
+      values[from] = null;
+    });
+    return previous;
+  }
+
+  /**
+   * Gets the number of entries in the map.
+   *
+   * @return The map size.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Removes all entries from the map.
+   */
+  public void clear() {
+    Arrays.fill(values, null);
+    size = 0;
+  }
+
+  /**
+   * Finds the slot holding the key, or the empty slot where it would go.
+   */
+  private int indexOf(int key) {
+    int mask = keys.length - 1;
+    int index = IntHashing.mix(key) & mask;
+    while (values[index] != null && keys[index] != key) {
+      index = (index + 1) & mask;
+    }
+    return index;
+  }
+
+  private void resize(int capacity) {
+    int[] oldKeys = keys;
+    Object[] oldValues = values;
+    keys = new int[capacity];
+    values = new Object[capacity];
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldValues[i] != null) {
+        int index = indexOf(oldKeys[i]);
+        keys[index] = oldKeys[i];
+        values[index] = oldValues[i];
+      }
+    }
+  }
+}
@@ -1,16 +1,11 @@
 package model;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Optional;
-
 /**
  * Represents an item that can be rented in the system. Each item has attributes
  * such as name, description, category, cost per day, and availability status.
  */
 public class Item {
-  private List<Item> itemList = new ArrayList<>();
-  private static int nextId = 1; // Improved ID generation to avoid duplicates
+  private static volatile ItemIdAllocator idAllocator = new ItemIdAllocator();
   private int id;
   private String name;
   private String description;
@@ -55,7 +50,6 @@ public class Item {
     this.costPerDay = costPerDay;
     this.owner = new Member(owner);
     this.isAvailable = true;
-    addItem(this);
     this.owner.addItem(this); // Ensures the owner has a reference to this item
   }
 
@@ -78,16 +72,6 @@ public class Item {
 
   }
 
-  /**
-   * Finds an item by its unique ID.
-   *
-   * @param id The ID of the item to find.
-   * @return An Optional containing the item if found, or empty if not found.
-   */
-  public Optional<Item> findItemById(int id) {
-    return itemList.stream().filter(item -> item.id == id).findFirst();
-  }
-
   /**
    * Updates the details of this item.
    *
@@ -122,50 +106,32 @@ public class Item {
   }
 
   /**
-   * Adds an item to the global item list.
-   *
-   * @param item The item to add.
+   * static method to generate an Id.
    */
-  public void addItem(Item item) {
-    itemList.add(item);
+  private int generateId() {
+    return idAllocator.nextId();
   }
 
   /**
-   * Removes an item from the global item list.
+   * Gets the allocator used to assign item IDs, e.g. to save its state.
    *
-   * @param item The item to remove.
-   * @return True if the item was removed; false otherwise.
-   */
-  public boolean removeItem(Item item) {
-    return itemList.remove(item);
-  }
-
-  /**
-   * Clears all items from the global item list.
+   * @return The item ID allocator.
    */
-  public void clearItems() {
-    itemList.clear();
-    nextId = 1; // Reset item ID counter
+  public static ItemIdAllocator getIdAllocator() {
+    return idAllocator;
   }
 
   /**
-   * Retrieves all items in the system as shallow copies.
+   * Replaces the allocator used to assign item IDs, e.g. with one restored
+   * from a previous run.
    *
-   * @return A list of all items, each as a copy to maintain encapsulation.
+   * @param allocator The item ID allocator to use.
    */
-  public List<Item> getAllItemsCopy() {
-    List<Item> itemCopies = new ArrayList<>();
-    for (Item item : itemList) {
-      itemCopies.add(new Item(item)); // Using a copy constructor
+  public static void setIdAllocator(ItemIdAllocator allocator) {
+    if (allocator == null) {
+      throw new IllegalArgumentException("ID allocator cannot be null.");
     }
-    return itemCopies;
-  }
-
-  /**
-   * static method to generate an Id.
-   */
-  private int generateId() {
-    return nextId++;
+    idAllocator = allocator;
   }
 
   /**
@@ -177,6 +143,15 @@ public class Item {
     return new Member(owner);
   }
 
+  /**
+   * Gets the ID of the member who owns this item without copying the owner.
+   *
+   * @return The owner's member ID.
+   */
+  public String getOwnerId() {
+    return owner.getId();
+  }
+
   /**
    * return a copy of list items.
    */
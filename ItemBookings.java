@@ -0,0 +1,252 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The bookings of one item: its contracts whose rental has not ended yet,
+ * ordered by start day. Their rental periods never overlap, so each period ends
+ * before the next one starts, and whether a new period conflicts with any
+ * booking is decided by the single booking that starts last on or before the
+ * new period's end day.
+ *
+ * <p>The bookings are kept in a treap keyed by start day. Every node also
+ * records the number of free days between the previous booking and its own,
+ * and the largest such gap in its subtree, so the first gap long enough for a
+ * rental is found by descending only into subtrees that contain one. Adding,
+ * removing, conflict checks and free-window searches take O(log k) time for k
+ * bookings. Split and merge come from {@link TreapNode}, shared with
+ * {@link CostOrderedItems}.
+ */
+public class ItemBookings {
+
+  private Node root;
+
+  /**
+   * Checks if a rental period overlaps any booking. Both days are inclusive.
+   *
+   * @param startDay The first day of the period.
+   * @param endDay   The last day of the period.
+   * @return true if the period overlaps a booking; false otherwise.
+   */
+  public boolean overlaps(int startDay, int endDay) {
+    Node before = floor(endDay);
+    return before != null && before.contract.getEndDay() >= startDay;
+  }
+
+  /**
+   * Adds a booking.
+   *
+   * @param contract The contract to add.
+   * @throws IllegalArgumentException if the contract's period overlaps a
+   *                                  booking.
+   */
+  public void add(Contract contract) {
+    if (overlaps(contract.getStartDay(), contract.getEndDay())) {
+      throw new IllegalArgumentException("The rental period conflicts with an existing contract.");
+    }
+    Node previous = floor(contract.getStartDay());
+    Node next = ceiling(contract.getStartDay());
+    insert(new Node(contract, freeDaysBetween(previous, contract.getStartDay())));
+    if (next != null) {
+      reinsert(next, next.start - contract.getEndDay() - 1);
+    }
+  }
+
+  /**
+   * Removes a booking.
+   *
+   * @param contract The contract to remove.
+   */
+  public void remove(Contract contract) {
+    Node node = floor(contract.getStartDay());
+    if (node == null || node.contract != contract) {
+      return;
+    }
+    delete(node.start);
+    Node previous = floor(node.start);
+    Node next = ceiling(node.start);
+    if (next != null) {
+      reinsert(next, freeDaysBetween(previous, next.start));
+    }
+  }
+
+  /**
+   * Finds the earliest run of free days of the given length that starts on
+   * or after a day.
+   *
+   * @param fromDay The earliest day the run may start.
+   * @param days    The number of consecutive free days needed; must be
+   *                positive.
+   * @return The first day of the earliest free run.
+   */
+  public int findEarliestFreeWindow(int fromDay, int days) {
+    int start = fromDay;
+    Node before = floor(fromDay);
+    if (before != null && before.contract.getEndDay() >= start) {
+      start = before.contract.getEndDay() + 1;
+    }
+    Node next = ceiling(start);
+    if (next == null || next.start - start >= days) {
+      return start;
+    }
+    // Every gap before a later booking lies wholly after the start.
+    Node fits = firstGapAfter(root, next.start, days);
+    if (fits != null) {
+      return fits.start - fits.gap;
+    }
+    return last().contract.getEndDay() + 1;
+  }
+
+  /**
+   * Gets the last day of the latest booking.
+   *
+   * @return The end day of the latest booking, or -1 if there is none.
+   */
+  public int getLastEndDay() {
+    return root == null ? -1 : last().contract.getEndDay();
+  }
+
+  /**
+   * Lists the bookings in order of start day.
+   *
+   * @return A new list of the booked contracts.
+   */
+  public List<Contract> getContracts() {
+    List<Contract> contracts = new ArrayList<>();
+    collect(root, contracts);
+    return contracts;
+  }
+
+  /**
+   * Checks if there are no bookings.
+   *
+   * @return true if there are no bookings; false otherwise.
+   */
+  public boolean isEmpty() {
+    return root == null;
+  }
+
+  private static int freeDaysBetween(Node previous, int startDay) {
+    return previous == null ? startDay : startDay - previous.contract.getEndDay() - 1;
+  }
+
+  /**
+   * Finds the booking with the smallest start day after the key whose gap is
+   * at least the given length.
+   */
+  private static Node firstGapAfter(Node node, int key, int days) {
+    if (node == null || node.maxGap < days) {
+      return null;
+    }
+    if (node.start > key) {
+      Node found = firstGapAfter(node.left, key, days);
+      if (found != null) {
+        return found;
+      }
+      if (node.gap >= days) {
+        return node;
+      }
+    }
+    return firstGapAfter(node.right, key, days);
+  }
+
+  private void reinsert(Node node, int gap) {
+    delete(node.start);
+    insert(new Node(node.contract, gap, node.priority));
+  }
+
+  private void insert(Node node) {
+    Node[] parts = new Node[2];
+    TreapNode.split(root, other -> other.start < node.start, parts);
+    root = TreapNode.merge(TreapNode.merge(parts[0], node), parts[1]);
+  }
+
+  private void delete(int start) {
+    Node[] parts = new Node[2];
+    TreapNode.split(root, other -> other.start < start, parts);
+    Node before = parts[0];
+    TreapNode.split(parts[1], other -> other.start <= start, parts);
+    root = TreapNode.merge(before, parts[1]);
+  }
+
+  private Node floor(int day) {
+    Node found = null;
+    Node node = root;
+    while (node != null) {
+      if (node.start <= day) {
+        found = node;
+        node = node.right;
+      } else {
+        node = node.left;
+      }
+    }
+    return found;
+  }
+
+  private Node ceiling(int day) {
+    Node found = null;
+    Node node = root;
+    while (node != null) {
+      if (node.start >= day) {
+        found = node;
+        node = node.left;
+      } else {
+        node = node.right;
+      }
+    }
+    return found;
+  }
+
+  private Node last() {
+    Node node = root;
+    while (node != null && node.right != null) {
+      node = node.right;
+    }
+    return node;
+  }
+
+  private static void collect(Node node, List<Contract> contracts) {
+    if (node != null) {
+      collect(node.left, contracts);
+      contracts.add(node.contract);
+      collect(node.right, contracts);
+    }
+  }
+
+  /**
+   * A treap node holding one booking and the free days before it.
+   */
+  private static class Node extends TreapNode<Node> {
+    private final Contract contract;
+    private final int start;
+    private final int gap;
+    private int maxGap;
+
+    Node(Contract contract, int gap) {
+      this.contract = contract;
+      this.start = contract.getStartDay();
+      this.gap = gap;
+      this.maxGap = gap;
+    }
+
+    Node(Contract contract, int gap, int priority) {
+      super(priority);
+      this.contract = contract;
+      this.start = contract.getStartDay();
+      this.gap = gap;
+      this.maxGap = gap;
+    }
+
+    @Override
+    void update() {
+      maxGap = gap;
+      if (left != null) {
+        maxGap = Math.max(maxGap, left.maxGap);
+      }
+      if (right != null) {
+        maxGap = Math.max(maxGap, right.maxGap);
+      }
+    }
+  }
+}
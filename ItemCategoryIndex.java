@@ -0,0 +1,117 @@
+package model;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Secondary index from item category to the items of that category ordered by
+ * cost per day. It answers price queries within a category, such as all tools
+ * under 20 per day, the cheapest N vehicles, or how many items fall in each
+ * price bucket, in logarithmic time per bound. The index is not thread-safe;
+ * {@link ItemRepository} updates and queries it under its own lock.
+ */
+public class ItemCategoryIndex {
+
+  private Map<ItemCategory, CostOrderedItems> itemsByCategory = new EnumMap<>(ItemCategory.class);
+
+  /**
+   * Constructs an empty index with an entry for every category.
+   */
+  public ItemCategoryIndex() {
+    for (ItemCategory category : ItemCategory.values()) {
+      itemsByCategory.put(category, new CostOrderedItems());
+    }
+  }
+
+  /**
+   * Adds an item under its current category and cost.
+   *
+   * @param item The item to add.
+   */
+  public void add(Item item) {
+    itemsByCategory.get(item.getCategory()).add(item);
+  }
+
+  /**
+   * Removes an item from under its current category and cost.
+   *
+   * @param item The item to remove.
+   */
+  public void remove(Item item) {
+    itemsByCategory.get(item.getCategory()).remove(item);
+  }
+
+  /**
+   * Removes all items from the index.
+   */
+  public void clear() {
+    for (ItemCategory category : ItemCategory.values()) {
+      itemsByCategory.put(category, new CostOrderedItems());
+    }
+  }
+
+  /**
+   * Lists the items of a category that cost less than the given amount per
+   * day, cheapest first.
+   *
+   * @param category The category to search.
+   * @param maxCost  The exclusive upper bound on the cost per day.
+   * @return The matching items in ascending order of cost.
+   */
+  public List<Item> findBelow(ItemCategory category, double maxCost) {
+    return itemsByCategory.get(category).below(maxCost, Integer.MAX_VALUE);
+  }
+
+  /**
+   * Lists the cheapest items of a category.
+   *
+   * @param category The category to search.
+   * @param count    The maximum number of items to return.
+   * @return The cheapest items in ascending order of cost.
+   */
+  public List<Item> findCheapest(ItemCategory category, int count) {
+    return itemsByCategory.get(category).below(Double.POSITIVE_INFINITY, count);
+  }
+
+  /**
+   * Counts the items of a category whose cost per day lies in a range.
+   *
+   * @param category The category to search.
+   * @param minCost  The inclusive lower bound on the cost per day.
+   * @param maxCost  The exclusive upper bound on the cost per day.
+   * @return The number of items in the range.
+   */
+  public int countInRange(ItemCategory category, double minCost, double maxCost) {
+    CostOrderedItems items = itemsByCategory.get(category);
+    return Math.max(0, items.countBelow(maxCost) - items.countBelow(minCost));
+  }
+
+  /**
+   * Counts the items of a category per price bucket. Bucket {@code i} covers
+   * costs from {@code i * bucketWidth} up to, but excluding,
+   * {@code (i + 1) * bucketWidth}; the last bucket also holds every more
+   * expensive item.
+   *
+   * @param category    The category to count.
+   * @param bucketWidth The width of each price bucket; must be positive.
+   * @param bucketCount The number of buckets; must be positive.
+   * @return The number of items in each bucket.
+   * @throws IllegalArgumentException if the width or count is not positive.
+   */
+  public int[] countByPriceBucket(ItemCategory category, double bucketWidth, int bucketCount) {
+    if (bucketWidth <= 0 || bucketCount <= 0) {
+      throw new IllegalArgumentException("Bucket width and count must be positive.");
+    }
+    CostOrderedItems items = itemsByCategory.get(category);
+    int[] counts = new int[bucketCount];
+    int below = 0;
+    for (int i = 0; i < bucketCount - 1; i++) {
+      int upTo = items.countBelow((i + 1) * bucketWidth);
+      counts[i] = upTo - below;
+      below = upTo;
+    }
+    counts[bucketCount - 1] = items.size() - below;
+    return counts;
+  }
+}
@@ -0,0 +1,171 @@
+package model;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Column-oriented copy of the fields of all items that aggregate queries read.
+ * The ID, cost per day, category and availability of the item at each
+ * position are kept in parallel primitive arrays, so a scan reads contiguous
+ * memory instead of following one reference per item, and simple loops such
+ * as counting available items can be vectorized by the JIT. Positions match
+ * those of the item vector in {@link ItemRepository}, which updates and
+ * queries the columns under its own lock; the class is not thread-safe.
+ */
+public class ItemColumns {
+
+  private static final ItemCategory[] CATEGORIES = ItemCategory.values();
+  private static final int DEFAULT_CAPACITY = 16;
+
+  private int[] ids = new int[DEFAULT_CAPACITY];
+  private double[] costsPerDay = new double[DEFAULT_CAPACITY];
+  private byte[] categories = new byte[DEFAULT_CAPACITY];
+  private boolean[] available = new boolean[DEFAULT_CAPACITY];
+  private int size;
+
+  /**
+   * Appends an item after the last position.
+   *
+   * @param item The item to append.
+   */
+  public void add(Item item) {
+    if (size == ids.length) {
+      int capacity = size * 2;
+      ids = Arrays.copyOf(ids, capacity);
+      costsPerDay = Arrays.copyOf(costsPerDay, capacity);
+      categories = Arrays.copyOf(categories, capacity);
+      available = Arrays.copyOf(available, capacity);
+    }
+    set(size++, item);
+  }
+
+  /**
+   * Overwrites the fields at a position with the current state of an item.
+   *
+   * @param position The position to overwrite.
+   * @param item     The item whose fields to copy.
+   */
+  public void set(int position, Item item) {
+    ids[position] = item.getId();
+    costsPerDay[position] = item.getCostPerDay();
+    categories[position] = (byte) item.getCategory().ordinal();
+    available[position] = item.isAvailable();
+  }
+
+  /**
+   * Updates the availability at a position.
+   *
+   * @param position  The position of the item.
+   * @param available Whether the item is available.
+   */
+  public void setAvailable(int position, boolean available) {
+    this.available[position] = available;
+  }
+
+  /**
+   * Removes the item at a position by moving the last item into its place,
+   * mirroring {@link PersistentVector#withoutAt(int)}.
+   *
+   * @param position The position to remove.
+   */
+  public void removeAt(int position) {
+    int last = --size;
+    ids[position] = ids[last];
+    costsPerDay[position] = costsPerDay[last];
+    categories[position] = categories[last];
+    available[position] = available[last];
+  }
+
+  /**
+   * Removes all items.
+   */
+  public void clear() {
+    size = 0;
+  }
+
+  /**
+   * Gets the number of items.
+   *
+   * @return The item count.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Counts the available items.
+   *
+   * @return The number of available items.
+   */
+  public int countAvailable() {
+    int count = 0;
+    for (int i = 0; i < size; i++) {
+      count += available[i] ? 1 : 0;
+    }
+    return count;
+  }
+
+  /**
+   * Counts the items of each category.
+   *
+   * @return The number of items per category; categories without items map
+   *         to zero.
+   */
+  public Map<ItemCategory, Integer> countByCategory() {
+    int[] counts = new int[CATEGORIES.length];
+    for (int i = 0; i < size; i++) {
+      counts[categories[i]]++;
+    }
+    Map<ItemCategory, Integer> result = new EnumMap<>(ItemCategory.class);
+    for (ItemCategory category : CATEGORIES) {
+      result.put(category, counts[category.ordinal()]);
+    }
+    return result;
+  }
+
+  /**
+   * Computes the average cost per day of the items of each category.
+   *
+   * @return The average cost per category; categories without items are
+   *         absent.
+   */
+  public Map<ItemCategory, Double> averageCostByCategory() {
+    double[] sums = new double[CATEGORIES.length];
+    int[] counts = new int[CATEGORIES.length];
+    for (int i = 0; i < size; i++) {
+      sums[categories[i]] += costsPerDay[i];
+      counts[categories[i]]++;
+    }
+    Map<ItemCategory, Double> result = new EnumMap<>(ItemCategory.class);
+    for (ItemCategory category : CATEGORIES) {
+      if (counts[category.ordinal()] > 0) {
+        result.put(category, sums[category.ordinal()] / counts[category.ordinal()]);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Lists the IDs of the available items of a category that cost less than
+   * the given amount per day.
+   *
+   * @param category The category to search.
+   * @param maxCost  The exclusive upper bound on the cost per day.
+   * @return The IDs of the matching items.
+   */
+  public int[] findAvailable(ItemCategory category, double maxCost) {
+    byte ordinal = (byte) category.ordinal();
+    int[] matches = new int[16];
+    int count = 0;
+    for (int i = 0; i < size; i++) {
+      if (available[i] && categories[i] == ordinal && costsPerDay[i] < maxCost) {
+        if (count == matches.length) {
+          matches = Arrays.copyOf(matches, count * 2);
+        }
+        matches[count++] = ids[i];
+      }
+    }
+    return Arrays.copyOf(matches, count);
+  }
+}
@@ -0,0 +1,111 @@
+package model;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands out unique item IDs to any number of threads. Each thread reserves a
+ * block of consecutive IDs from a shared high-water mark and then issues IDs
+ * from its own block, so the shared atomic is touched only once per block.
+ * The high-water mark lies above every ID ever reserved; saving and restoring
+ * it keeps IDs unique across restarts and reinitialization. IDs left unused in
+ * a block are skipped, never reissued.
+ */
+public class ItemIdAllocator {
+
+  private static final int DEFAULT_BLOCK_SIZE = 64;
+
+  private final AtomicInteger highWaterMark;
+  private final int blockSize;
+  // Per thread: the next ID to issue and the end (exclusive) of its block
+  private final ThreadLocal<int[]> blocks = ThreadLocal.withInitial(() -> new int[2]);
+
+  /**
+   * Constructs an allocator whose first ID is 1.
+   */
+  public ItemIdAllocator() {
+    this(1, DEFAULT_BLOCK_SIZE);
+  }
+
+  /**
+   * Constructs an allocator that continues from a saved high-water mark.
+   *
+   * @param highWaterMark The lowest ID that has not been reserved yet; must be
+   *                      positive.
+   * @param blockSize     The number of IDs a thread reserves at a time; must be
+   *                      positive.
+   * @throws IllegalArgumentException if either argument is not positive.
+   */
+  public ItemIdAllocator(int highWaterMark, int blockSize) {
+    if (highWaterMark <= 0) {
+      throw new IllegalArgumentException("High-water mark must be positive.");
+    }
+    if (blockSize <= 0) {
+      throw new IllegalArgumentException("Block size must be positive.");
+    }
+    this.highWaterMark = new AtomicInteger(highWaterMark);
+    this.blockSize = blockSize;
+  }
+
+  /**
+   * Allocates the next unique item ID.
+   *
+   * @return A unique, positive item ID.
+   * @throws IllegalStateException if the ID space is exhausted.
+   */
+  public int nextId() {
+    int[] block = blocks.get();
+    if (block[0] == block[1]) {
+      int start = highWaterMark.getAndAdd(blockSize);
+      if (start <= 0 || start > Integer.MAX_VALUE - blockSize) {
+        highWaterMark.set(Integer.MIN_VALUE); // Keep every later call failing
+        throw new IllegalStateException("Item ID space is exhausted.");
+      }
+      block[0] = start;
+      block[1] = start + blockSize;
+    }
+    return block[0]++;
+  }
+
+  /**
+   * Gets the lowest ID that has not been reserved by any thread yet.
+   *
+   * @return The high-water mark.
+   */
+  public int getHighWaterMark() {
+    return highWaterMark.get();
+  }
+
+  /**
+   * Saves the high-water mark to a file.
+   *
+   * @param file The file to write the state to.
+   * @throws IOException if the file cannot be written.
+   */
+  public void save(Path file) throws IOException {
+    Files.writeString(file, Integer.toString(highWaterMark.get()), StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Loads an allocator from a file written by {@link #save(Path)}. A missing
+   * file yields a fresh allocator.
+   *
+   * @param file The file to read the state from.
+   * @return The restored allocator.
+   * @throws IOException if the file exists but cannot be read or parsed.
+   */
+  public static ItemIdAllocator load(Path file) throws IOException {
+    if (!Files.exists(file)) {
+      return new ItemIdAllocator();
+    }
+    String state = Files.readString(file, StandardCharsets.UTF_8).trim();
+    try {
+      return new ItemIdAllocator(Integer.parseInt(state), DEFAULT_BLOCK_SIZE);
+    } catch (IllegalArgumentException e) {
+      throw new IOException("Invalid item ID allocator state: " + state, e);
+    }
+  }
+}
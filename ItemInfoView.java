@@ -1,15 +1,14 @@
 package view;
 
 import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Scanner;
-import java.util.Set;
 import model.Item;
 import model.ItemCategory;
 import model.Member;
+import model.MemberRepository;
 
 /**
  * The ItemInfoView class handles the display of item-related information
@@ -26,19 +25,15 @@ public class ItemInfoView {
    * Displays a list of items to the user. If no items are available, a message
    * indicating "No items found" is displayed.
    *
-   * @param items The of items to be displayed.
+   * @param items The list of items to be displayed.
    */
-  public void displayItems(List<Item> itemsFromDataInitializer, List<Item> items) {
+  public void displayItems(List<Item> items) {
     System.out.println("\nList of Items:");
-    List<Item> combinedItems = new ArrayList<>();
-    combinedItems.addAll(itemsFromDataInitializer);
-    combinedItems.addAll(items);
-    Set<Integer> seenIds = new HashSet<>();
-
-    // Filtrera och visa endast unika items baserat på ID
-    combinedItems.stream()
-        .filter(item -> item != null && seenIds.add(item.getId()))
-        .forEach(this::displayItemDetails);
+    if (items.isEmpty()) {
+      System.out.println("No items found.");
+    } else {
+      items.forEach(this::displayItemDetails);
+    }
   }
 
   /**
@@ -59,11 +54,12 @@ public class ItemInfoView {
    * Collects information for creating a new item, prompting the user for item
    * name, description, category, cost per day, and owner ID.
    *
+   * @param members The member repository used to look up the owner by ID.
    * @return An array containing the item name, description, category (as
    *         ItemCategory),
    *         cost per day, and owner ID, or null if any required input is invalid.
    */
-  public Object[] collectItemCreationInput(List<Member> members) {
+  public Object[] collectItemCreationInput(MemberRepository members) {
 
     String name;
     String description;
@@ -130,9 +126,7 @@ public class ItemInfoView {
       }
 
       // found the member.
-      Optional<Member> memberOpt = members.stream()
-          .filter(member -> member.getId().equals(ownerId))
-          .findFirst();
+      Optional<Member> memberOpt = members.findMemberById(ownerId);
 
       if (memberOpt.isPresent()) {
         owner = memberOpt.get();
@@ -146,10 +140,6 @@ public class ItemInfoView {
       }
     }
 
-    Item newItem = new Item(name, description, category, costPerDay, owner);
-    owner.addItem(newItem);
-    System.out.printf("Item '%s' added to member '%s' (ID: %s).%n ", name, owner.getName(), owner.getId());
-
     return new Object[] { name, description, category, costPerDay, owner };
   }
 
@@ -234,6 +224,49 @@ public class ItemInfoView {
     }
   }
 
+  /**
+   * Displays item statistics: how many items there are, how many are
+   * available right now, and the number and average cost per day of the
+   * items of each category.
+   *
+   * @param total        The number of items.
+   * @param available    The number of available items.
+   * @param counts       The number of items per category.
+   * @param averageCosts The average cost per day per category; categories
+   *                     without items are absent.
+   */
+  public void displayItemStatistics(
+      int total,
+      int available,
+      Map<ItemCategory, Integer> counts,
+      Map<ItemCategory, Double> averageCosts) {
+    System.out.printf("%nItem Statistics:%nItems: %d%nAvailable now: %d%n", total, available);
+    for (Map.Entry<ItemCategory, Integer> entry : counts.entrySet()) {
+      Double averageCost = averageCosts.get(entry.getKey());
+      System.out.printf("  - %s: %d item(s), average cost per day: %s%n", entry.getKey(),
+          entry.getValue(), averageCost == null ? "-" : String.format("%.2f", averageCost));
+    }
+  }
+
+  /**
+   * Displays how many items of a category fall into each price bucket.
+   *
+   * @param category    The category that was counted.
+   * @param bucketWidth The width of each price bucket.
+   * @param counts      The number of items per bucket; the last bucket holds
+   *                    every more expensive item.
+   */
+  public void displayPriceBuckets(ItemCategory category, double bucketWidth, int[] counts) {
+    System.out.printf("%nCost per day of %s items:%n", category);
+    for (int i = 0; i < counts.length; i++) {
+      if (i < counts.length - 1) {
+        System.out.printf("  %.2f to under %.2f: %d%n", i * bucketWidth, (i + 1) * bucketWidth, counts[i]);
+      } else {
+        System.out.printf("  %.2f and more: %d%n", i * bucketWidth, counts[i]);
+      }
+    }
+  }
+
   /**
    * Displays an error message for invalid input.
    *
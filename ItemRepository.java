@@ -0,0 +1,323 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Repository holding all items of the system. Items are indexed by their ID in
+ * a primitive open-addressing map, so lookups run in constant time without
+ * boxing the ID or allocating. The items themselves are kept in a persistent
+ * vector that is handed out as an immutable snapshot, and a category index
+ * orders them by cost per day for price queries within a category. A reverse
+ * index from owner ID to item IDs answers ownership questions in time
+ * proportional to the owner's own items, and a full-text index answers
+ * keyword searches over item names and descriptions. Aggregate queries scan a
+ * column-oriented copy of the items' numeric fields.
+ */
+public class ItemRepository {
+
+  private IntObjectHashMap<Item> itemsById = new IntObjectHashMap<>();
+  private IntIntHashMap positions = new IntIntHashMap();
+  private volatile PersistentVector<Item> items = PersistentVector.empty();
+  private ItemCategoryIndex categoryIndex = new ItemCategoryIndex();
+  private Map<String, IntHashSet> itemIdsByOwner = new HashMap<>();
+  private ItemTextIndex textIndex = new ItemTextIndex();
+  private ItemColumns columns = new ItemColumns();
+
+  /**
+   * Gets an item by its unique ID without allocating.
+   *
+   * @param id The ID of the item to get.
+   * @return The item, or null if no item has the ID.
+   */
+  public synchronized Item getItem(int id) {
+    return itemsById.get(id);
+  }
+
+  /**
+   * Finds an item by its unique ID.
+   *
+   * @param id The ID of the item to find.
+   * @return An Optional containing the item if found, or empty if not found.
+   */
+  public Optional<Item> findItemById(int id) {
+    return Optional.ofNullable(getItem(id));
+  }
+
+  /**
+   * Adds an item to the repository.
+   *
+   * @param item The item to add.
+   * @throws IllegalArgumentException if the item is null or its ID is already
+   *                                  registered.
+   */
+  public synchronized void addItem(Item item) {
+    if (item == null) {
+      throw new IllegalArgumentException("Item cannot be null.");
+    }
+    if (itemsById.containsKey(item.getId())) {
+      throw new IllegalArgumentException("An item with this ID already exists.");
+    }
+    itemsById.put(item.getId(), item);
+    positions.put(item.getId(), items.size());
+    items = items.append(item);
+    columns.add(item);
+    categoryIndex.add(item);
+    itemIdsByOwner.computeIfAbsent(item.getOwnerId(), id -> new IntHashSet()).add(item.getId());
+    textIndex.add(item);
+  }
+
+  /**
+   * Updates the details of a registered item, keeping the category and text
+   * indexes in sync with its new details.
+   *
+   * @param item        The item to update.
+   * @param name        The new name of the item.
+   * @param description The new description of the item.
+   * @param category    The new category of the item.
+   * @param costPerDay  The new daily rental cost of the item.
+   * @throws IllegalArgumentException if the item is not registered or any
+   *                                  parameter is invalid.
+   */
+  public synchronized void updateItem(
+      Item item,
+      String name,
+      String description,
+      ItemCategory category,
+      double costPerDay) {
+    if (item == null || itemsById.get(item.getId()) != item) {
+      throw new IllegalArgumentException("Item is not registered.");
+    }
+    categoryIndex.remove(item);
+    textIndex.remove(item);
+    try {
+      item.updateItem(name, description, category, costPerDay);
+    } finally {
+      categoryIndex.add(item);
+      textIndex.add(item);
+      columns.set(positions.get(item.getId()), item);
+    }
+  }
+
+  /**
+   * Marks a registered item as available or unavailable.
+   *
+   * @param item      The item to update.
+   * @param available Whether the item is available.
+   * @throws IllegalArgumentException if the item is not registered.
+   */
+  public synchronized void setItemAvailable(Item item, boolean available) {
+    if (item == null || itemsById.get(item.getId()) != item) {
+      throw new IllegalArgumentException("Item is not registered.");
+    }
+    item.setAvailable(available);
+    columns.setAvailable(positions.get(item.getId()), available);
+  }
+
+  /**
+   * Removes an item from the repository.
+   *
+   * @param item The item to remove.
+   * @return True if the item was removed; false otherwise.
+   */
+  public synchronized boolean removeItem(Item item) {
+    if (item == null || itemsById.get(item.getId()) != item) {
+      return false;
+    }
+    itemsById.remove(item.getId());
+    // The last item takes the removed item's slot in the vector.
+    int position = positions.remove(item.getId());
+    int last = items.size() - 1;
+    if (position != last) {
+      positions.put(items.get(last).getId(), position);
+    }
+    items = items.withoutAt(position);
+    columns.removeAt(position);
+    categoryIndex.remove(item);
+    textIndex.remove(item);
+    IntHashSet owned = itemIdsByOwner.get(item.getOwnerId());
+    if (owned != null) {
+      owned.remove(item.getId());
+      if (owned.isEmpty()) {
+        itemIdsByOwner.remove(item.getOwnerId());
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Removes all items from the repository. Item IDs are not reused afterwards.
+   */
+  public synchronized void clearItems() {
+    itemsById.clear();
+    positions.clear();
+    items = PersistentVector.empty();
+    columns.clear();
+    categoryIndex.clear();
+    itemIdsByOwner.clear();
+    textIndex.clear();
+  }
+
+  /**
+   * Checks if a member owns any registered item.
+   *
+   * @param memberId The ID of the member.
+   * @return true if the member owns at least one item; false otherwise.
+   */
+  public synchronized boolean hasItemsOwnedBy(String memberId) {
+    return itemIdsByOwner.containsKey(memberId);
+  }
+
+  /**
+   * Lists the registered items owned by a member, in ascending order of ID.
+   *
+   * @param memberId The ID of the member.
+   * @return The items owned by the member.
+   */
+  public synchronized List<Item> findItemsOwnedBy(String memberId) {
+    List<Item> owned = new ArrayList<>();
+    IntHashSet itemIds = itemIdsByOwner.get(memberId);
+    if (itemIds != null) {
+      for (int itemId : itemIds.toSortedArray()) {
+        owned.add(itemsById.get(itemId));
+      }
+    }
+    return owned;
+  }
+
+  /**
+   * Searches item names and descriptions for words. Every word must match
+   * unless the words are separated by {@code OR}; results are ranked by
+   * relevance.
+   *
+   * @param query The words to search for.
+   * @param limit The maximum number of results.
+   * @return The best matching items, best first.
+   */
+  public synchronized List<Item> searchItems(String query, int limit) {
+    List<Item> matches = new ArrayList<>();
+    for (int itemId : textIndex.search(query, limit)) {
+      matches.add(itemsById.get(itemId));
+    }
+    return matches;
+  }
+
+  /**
+   * Lists the items of a category that cost less than the given amount per
+   * day, cheapest first.
+   *
+   * @param category The category to search.
+   * @param maxCost  The exclusive upper bound on the cost per day.
+   * @return The matching items in ascending order of cost.
+   */
+  public synchronized List<Item> findItemsInCategoryBelow(ItemCategory category, double maxCost) {
+    return categoryIndex.findBelow(category, maxCost);
+  }
+
+  /**
+   * Lists the cheapest items of a category.
+   *
+   * @param category The category to search.
+   * @param count    The maximum number of items to return.
+   * @return The cheapest items in ascending order of cost.
+   */
+  public synchronized List<Item> findCheapestInCategory(ItemCategory category, int count) {
+    return categoryIndex.findCheapest(category, count);
+  }
+
+  /**
+   * Counts the items of a category whose cost per day lies in a range.
+   *
+   * @param category The category to search.
+   * @param minCost  The inclusive lower bound on the cost per day.
+   * @param maxCost  The exclusive upper bound on the cost per day.
+   * @return The number of items in the range.
+   */
+  public synchronized int countItemsInCategory(ItemCategory category, double minCost, double maxCost) {
+    return categoryIndex.countInRange(category, minCost, maxCost);
+  }
+
+  /**
+   * Counts the items of a category per price bucket of the given width.
+   *
+   * @param category    The category to count.
+   * @param bucketWidth The width of each price bucket.
+   * @param bucketCount The number of buckets; the last also holds every more
+   *                    expensive item.
+   * @return The number of items in each bucket.
+   */
+  public synchronized int[] countItemsByPriceBucket(
+      ItemCategory category,
+      double bucketWidth,
+      int bucketCount) {
+    return categoryIndex.countByPriceBucket(category, bucketWidth, bucketCount);
+  }
+
+  /**
+   * Counts the items that are currently available.
+   *
+   * @return The number of available items.
+   */
+  public synchronized int countAvailableItems() {
+    return columns.countAvailable();
+  }
+
+  /**
+   * Counts the items of each category.
+   *
+   * @return The number of items per category.
+   */
+  public synchronized Map<ItemCategory, Integer> countItemsByCategory() {
+    return columns.countByCategory();
+  }
+
+  /**
+   * Computes the average cost per day of the items of each category.
+   *
+   * @return The average cost per category; categories without items are
+   *         absent.
+   */
+  public synchronized Map<ItemCategory, Double> getAverageCostByCategory() {
+    return columns.averageCostByCategory();
+  }
+
+  /**
+   * Lists the available items of a category that cost less than the given
+   * amount per day, cheapest first.
+   *
+   * @param category The category to search.
+   * @param maxCost  The exclusive upper bound on the cost per day.
+   * @return The matching items in ascending order of cost.
+   */
+  public synchronized List<Item> findAvailableItems(ItemCategory category, double maxCost) {
+    List<Item> matches = new ArrayList<>();
+    for (int itemId : columns.findAvailable(category, maxCost)) {
+      matches.add(itemsById.get(itemId));
+    }
+    matches.sort(Comparator.comparingDouble(Item::getCostPerDay));
+    return matches;
+  }
+
+  /**
+   * Retrieves an immutable snapshot of all items in the system. Later changes
+   * to the repository are not reflected in the snapshot.
+   *
+   * @return A read-only list of all items.
+   */
+  public List<Item> getAllItemsCopy() {
+    return items;
+  }
+
+  /**
+   * Gets the number of items in the repository.
+   *
+   * @return The item count.
+   */
+  public int size() {
+    return items.size();
+  }
+}
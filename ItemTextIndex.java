@@ -0,0 +1,303 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Inverted index over the words in item names and descriptions. Text is split
+ * into runs of letters and digits and case-folded; every word maps to the set
+ * of IDs of the items containing it. Queries match all words by default, or any
+ * word when the words are separated by an upper-case {@code OR}. Matches are
+ * ranked by how often each word occurs in the item, with words in the name
+ * counting more than words in the description, weighted by how rare the word
+ * is across all items. The index is not thread-safe; {@link ItemRepository}
+ * updates and queries it under its own lock.
+ */
+public class ItemTextIndex {
+
+  private static final int NAME_WEIGHT = 3;
+  private static final int DESCRIPTION_WEIGHT = 1;
+
+  private Map<String, Postings> postings = new HashMap<>();
+  private IntObjectHashMap<String[]> termsById = new IntObjectHashMap<>();
+
+  /**
+   * Adds an item under the words of its current name and description.
+   *
+   * @param item The item to add.
+   */
+  public void add(Item item) {
+    Map<String, Integer> weights = new HashMap<>();
+    for (String term : tokenize(item.getName())) {
+      weights.merge(term, NAME_WEIGHT, Integer::sum);
+    }
+    for (String term : tokenize(item.getDescription())) {
+      weights.merge(term, DESCRIPTION_WEIGHT, Integer::sum);
+    }
+    for (Map.Entry<String, Integer> entry : weights.entrySet()) {
+      postings.computeIfAbsent(entry.getKey(), t -> new Postings()).put(item.getId(), entry.getValue());
+    }
+    termsById.put(item.getId(), weights.keySet().toArray(new String[0]));
+  }
+
+  /**
+   * Removes an item from under the words it was indexed with.
+   *
+   * @param item The item to remove.
+   */
+  public void remove(Item item) {
+    String[] terms = termsById.remove(item.getId());
+    if (terms == null) {
+      return;
+    }
+    for (String term : terms) {
+      Postings itemIds = postings.get(term);
+      itemIds.remove(item.getId());
+      if (itemIds.size() == 0) {
+        postings.remove(term);
+      }
+    }
+  }
+
+  /**
+   * Removes all items from the index.
+   */
+  public void clear() {
+    postings.clear();
+    termsById.clear();
+  }
+
+  /**
+   * Searches the index. Every word must occur in a matching item, unless the
+   * words are separated by {@code OR}, in which case any one is enough.
+   *
+   * @param query The words to search for.
+   * @param limit The maximum number of results.
+   * @return The IDs of the best matching items, best first.
+   */
+  public int[] search(String query, int limit) {
+    boolean matchAny = false;
+    StringBuilder words = new StringBuilder();
+    for (String word : query.trim().split("\\s+")) {
+      if (word.equals("OR")) {
+        matchAny = true;
+      } else {
+        words.append(word).append(' ');
+      }
+    }
+    List<String> terms = new ArrayList<>(new LinkedHashSet<>(tokenize(words.toString())));
+    if (terms.isEmpty() || limit <= 0) {
+      return new int[0];
+    }
+    return matchAny ? searchAny(terms, limit) : searchAll(terms, limit);
+  }
+
+  /**
+   * Splits text into lower-case runs of letters and digits.
+   *
+   * @param text The text to split.
+   * @return The words of the text, in order, including repeats.
+   */
+  public static List<String> tokenize(String text) {
+    List<String> terms = new ArrayList<>();
+    if (text == null) {
+      return terms;
+    }
+    StringBuilder term = new StringBuilder();
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      if (Character.isLetterOrDigit(c)) {
+        term.append(Character.toLowerCase(c));
+      } else if (term.length() > 0) {
+        terms.add(term.toString());
+        term.setLength(0);
+      }
+    }
+    if (term.length() > 0) {
+      terms.add(term.toString());
+    }
+    return terms;
+  }
+
+  private int[] searchAll(List<String> terms, int limit) {
+    // Walk the rarest word's postings and probe the others.
+    Postings[] lists = new Postings[terms.size()];
+    for (int i = 0; i < lists.length; i++) {
+      lists[i] = postings.get(terms.get(i));
+      if (lists[i] == null) {
+        return new int[0];
+      }
+    }
+    Arrays.sort(lists, Comparator.comparingInt(Postings::size));
+    double[] idf = inverseFrequencies(lists);
+    TopItems top = new TopItems(limit);
+    Postings rarest = lists[0];
+    candidates:
+    for (int slot = 0; slot < rarest.itemIds.length; slot++) {
+      if (rarest.weights[slot] == 0) {
+        continue;
+      }
+      int itemId = rarest.itemIds[slot];
+      double score = rarest.weights[slot] * idf[0];
+      for (int i = 1; i < lists.length; i++) {
+        int weight = lists[i].get(itemId);
+        if (weight == 0) {
+          continue candidates;
+        }
+        score += weight * idf[i];
+      }
+      top.offer(itemId, score);
+    }
+    return top.toArray();
+  }
+
+  private int[] searchAny(List<String> terms, int limit) {
+    List<Postings> found = new ArrayList<>();
+    for (String term : terms) {
+      Postings list = postings.get(term);
+      if (list != null) {
+        found.add(list);
+      }
+    }
+    Postings[] lists = found.toArray(new Postings[0]);
+    double[] idf = inverseFrequencies(lists);
+    TopItems top = new TopItems(limit);
+    for (int i = 0; i < lists.length; i++) {
+      Postings list = lists[i];
+      slots:
+      for (int slot = 0; slot < list.itemIds.length; slot++) {
+        if (list.weights[slot] == 0) {
+          continue;
+        }
+        int itemId = list.itemIds[slot];
+        double score = list.weights[slot] * idf[i];
+        for (int j = 0; j < lists.length; j++) {
+          if (j == i) {
+            continue;
+          }
+          int weight = lists[j].get(itemId);
+          if (weight != 0 && j < i) {
+            continue slots; // Already scored while walking an earlier list
+          }
+          score += weight * idf[j];
+        }
+        top.offer(itemId, score);
+      }
+    }
+    return top.toArray();
+  }
+
+  private double[] inverseFrequencies(Postings[] lists) {
+    double[] idf = new double[lists.length];
+    for (int i = 0; i < idf.length; i++) {
+      idf[i] = Math.log(1.0 + (double) termsById.size() / (lists[i].size() + 1));
+    }
+    return idf;
+  }
+
+  /**
+   * The items containing one word, each with the weight of the word in that
+   * item, in an open-addressing table of parallel arrays. A weight of zero
+   * marks an empty slot.
+   */
+  private static class Postings {
+    private int[] itemIds = new int[4];
+    private int[] weights = new int[4];
+    private int size;
+
+    private int size() {
+      return size;
+    }
+
+    private int get(int itemId) {
+      return weights[indexOf(itemId)];
+    }
+
+    private void put(int itemId, int weight) {
+      int index = indexOf(itemId);
+      if (weights[index] == 0) {
+        size++;
+      }
+      itemIds[index] = itemId;
+      weights[index] = weight;
+      if (size * 2 > itemIds.length) {
+        resize(itemIds.length * 2);
+      }
+    }
+
+    private void remove(int itemId) {
+      int freed = indexOf(itemId);
+      if (weights[freed] == 0) {
+        return;
+      }
+      weights[freed] = 0;
+      size--;
+      IntHashing.shiftBack(itemIds, freed, i -> weights[i] != 0, (from, to) -> {
+        weights[to] = weights[from];
+        weights[from] = 0;
+      });
+    }
+
+    private int indexOf(int itemId) {
+      int mask = itemIds.length - 1;
+      int index = IntHashing.mix(itemId) & mask;
+      while (weights[index] != 0 && itemIds[index] != itemId) {
+        index = (index + 1) & mask;
+      }
+      return index;
+    }
+
+    private void resize(int capacity) {
+      int[] oldIds = itemIds;
+      int[] oldWeights = weights;
+      itemIds = new int[capacity];
+      weights = new int[capacity];
+      for (int i = 0; i < oldIds.length; i++) {
+        if (oldWeights[i] != 0) {
+          int index = indexOf(oldIds[i]);
+          itemIds[index] = oldIds[i];
+          weights[index] = oldWeights[i];
+        }
+      }
+    }
+  }
+
+  /**
+   * Keeps the highest scoring items seen so far, lower IDs winning ties.
+   */
+  private static class TopItems {
+    private final int limit;
+    private final PriorityQueue<double[]> heap = new PriorityQueue<>(
+        (a, b) -> a[0] != b[0] ? Double.compare(a[0], b[0]) : Double.compare(b[1], a[1]));
+    private double[] worst;
+
+    TopItems(int limit) {
+      this.limit = limit;
+    }
+
+    private void offer(int itemId, double score) {
+      if (heap.size() < limit) {
+        heap.add(new double[] {score, itemId});
+        worst = heap.peek();
+      } else if (score > worst[0] || (score == worst[0] && itemId < worst[1])) {
+        heap.poll();
+        heap.add(new double[] {score, itemId});
+        worst = heap.peek();
+      }
+    }
+
+    private int[] toArray() {
+      int[] itemIds = new int[heap.size()];
+      for (int i = itemIds.length - 1; i >= 0; i--) {
+        itemIds[i] = (int) heap.poll()[1];
+      }
+      return itemIds;
+    }
+  }
+}
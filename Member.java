@@ -1,11 +1,5 @@
 package model;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Optional;
-import java.util.Random;
-import java.util.regex.Pattern;
-
 /**
  * Represents a member in the system. Each member has unique attributes
  * such as name, email, phone, and a unique ID. Members can also own
@@ -13,20 +7,14 @@ import java.util.regex.Pattern;
  */
 public class Member {
 
-  private List<Member> memberList = new ArrayList<>(); // Stores all members
-
-  // Constants renamed to follow CheckStyle conventions
-  private String alphanumeric = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
-  private int idLength = 6; // Length of the unique member ID
-  private Pattern emailPattern = Pattern.compile("^[A-Za-z0-9._%+-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$");
-  private Pattern phonePattern = Pattern.compile("^\\d{8,15}$");
+  private static volatile MemberIdAllocator idAllocator = new MemberIdAllocator();
+  private static CreditLedger creditLedger = new CreditLedger();
 
   private String id;
   private String name;
   private String email;
   private String phone;
-  private double credits;
-  private List<Item> ownedItems;
+  private IntHashSet ownedItemIds;
 
   public Member() {
   }
@@ -43,10 +31,10 @@ public class Member {
     if (name == null || name.trim().isEmpty()) {
       throw new IllegalArgumentException("Name cannot be empty.");
     }
-    if (email == null || !emailPattern.matcher(email).matches()) {
+    if (email == null || !MemberValidator.isValidEmail(email)) {
       throw new IllegalArgumentException("Invalid email format.");
     }
-    if (phone == null || !phonePattern.matcher(phone).matches()) {
+    if (phone == null || !MemberValidator.isValidPhone(phone)) {
       throw new IllegalArgumentException("Phone number must be 8 to 15 digits.");
     }
 
@@ -54,8 +42,8 @@ public class Member {
     this.name = name;
     this.email = email;
     this.phone = phone;
-    this.credits = 100.0; // Default starting credits
-    this.ownedItems = new ArrayList<>();
+    creditLedger.setBalance(id, CreditLedger.toMinorUnits(100.0)); // Default starting credits
+    this.ownedItemIds = new IntHashSet();
   }
 
   /**
@@ -64,78 +52,29 @@ public class Member {
    * @return A unique 6-character member ID.
    */
   private String generateUniqueId() {
-    Random random = new Random();
-    StringBuilder newId;
-
-    // Ensure ID uniqueness by checking against existing IDs in memberList
-    do {
-      newId = new StringBuilder(idLength);
-      for (int i = 0; i < idLength; i++) {
-        newId.append(alphanumeric.charAt(random.nextInt(alphanumeric.length())));
-      }
-    } while (isIdInUse(newId.toString()));
-
-    return newId.toString();
+    return idAllocator.nextId();
   }
 
   /**
-   * Checks if the given ID is already in use by another member.
+   * Gets the allocator used to assign member IDs, e.g. to save its state.
    *
-   * @param id The ID to check for uniqueness.
-   * @return true if the ID is in use, false otherwise.
+   * @return The member ID allocator.
    */
-  private boolean isIdInUse(String id) {
-    return memberList.stream().anyMatch(member -> member.id.equals(id));
+  public static MemberIdAllocator getIdAllocator() {
+    return idAllocator;
   }
 
   /**
-   * Checks if the provided email or phone number is unique among all members.
+   * Replaces the allocator used to assign member IDs, e.g. with one restored
+   * from a previous run.
    *
-   * @param email The email to check for uniqueness.
-   * @param phone The phone number to check for uniqueness.
-   * @return true if both email and phone are unique; false otherwise.
+   * @param allocator The member ID allocator to use.
    */
-  public boolean isEmailOrPhoneUnique(String email, String phone) {
-    return memberList.stream().noneMatch(
-        m -> m.email.equalsIgnoreCase(email) || m.phone.equals(phone));
-  }
-
-  /**
-   * Finds a member by their unique ID.
-   *
-   * @param memberId The ID of the member to find.
-   * @return An Optional containing the member if found, or empty if not.
-   */
-  public Optional<Member> findMemberById(String memberId) {
-    return memberList.stream().filter(m -> m.getId().equals(memberId.trim())).findFirst();
-  }
-
-  /**
-   * Adds a member to the system.
-   *
-   * @param member The member to add.
-   */
-  public void addMember(Member member) {
-    memberList.add(member);
-  }
-
-  /**
-   * Removes a member from the system.
-   *
-   * @param member The member to remove.
-   * @return true if the member was removed; false otherwise.
-   */
-  public boolean removeMember(Member member) {
-    return memberList.remove(member);
-  }
-
-  /**
-   * Returns a list of all members as shallow copies to maintain encapsulation.
-   *
-   * @return A list of all members as copies.
-   */
-  public List<Member> getAllMembersCopy() {
-    return new ArrayList<>(memberList); // Ensure this provides an updated copy
+  public static void setIdAllocator(MemberIdAllocator allocator) {
+    if (allocator == null) {
+      throw new IllegalArgumentException("ID allocator cannot be null.");
+    }
+    idAllocator = allocator;
   }
 
   /**
@@ -149,8 +88,7 @@ public class Member {
     this.name = member.name;
     this.email = member.email;
     this.phone = member.phone;
-    this.credits = member.credits;
-    this.ownedItems = new ArrayList<>(member.ownedItems);
+    this.ownedItemIds = new IntHashSet(member.ownedItemIds);
   }
 
   /**
@@ -165,10 +103,10 @@ public class Member {
     if (name == null || name.trim().isEmpty()) {
       throw new IllegalArgumentException("Name cannot be empty.");
     }
-    if (email == null || !emailPattern.matcher(email).matches()) {
+    if (email == null || !MemberValidator.isValidEmail(email)) {
       throw new IllegalArgumentException("Invalid email format.");
     }
-    if (phone == null || !phonePattern.matcher(phone).matches()) {
+    if (phone == null || !MemberValidator.isValidPhone(phone)) {
       throw new IllegalArgumentException("Phone number must be 8 to 15 digits.");
     }
     this.name = name;
@@ -215,12 +153,13 @@ public class Member {
   }
 
   /**
-   * Gets the current credit balance of the member.
+   * Gets the current credit balance of the member. Balances live in the shared
+   * credit ledger, so copies of a member always see the same balance.
    *
    * @return The member's credit balance.
    */
   public double getCredits() {
-    return credits;
+    return CreditLedger.toCredits(creditLedger.getBalance(id));
   }
 
   /**
@@ -229,41 +168,63 @@ public class Member {
    * @param credits The new credit balance.
    */
   public void setCredits(double credits) {
-    this.credits = credits;
+    creditLedger.setBalance(id, CreditLedger.toMinorUnits(credits));
   }
 
   /**
-   * Gets a copy of the list of items owned by the member to maintain
-   * encapsulation.
+   * Gets the ledger holding the credit balances of all members.
    *
-   * @return A copy of the list of items owned by the member.
+   * @return The shared credit ledger.
    */
-  public List<Item> getOwnedItemsCopy() {
-    return new ArrayList<>(ownedItems); // Return a copy for encapsulation
+  public static CreditLedger getCreditLedger() {
+    return creditLedger;
   }
 
   /**
-   * Adds an item to the list of items owned by the member, ensuring no
-   * duplicates.
+   * Gets the IDs of the items owned by the member in ascending order.
    *
-   * @param item The item to add to the member's ownership list.
+   * @return A new array of the owned item IDs.
    */
-  public void addItem(Item item) {
-    ownedItems.add(item);
+  public int[] getOwnedItemIds() {
+    return ownedItemIds.toSortedArray();
   }
 
   /**
-   * Removes an item from the list of items owned by the member.
+   * Gets the number of items owned by the member.
    *
-   * @param item The item to remove from the member's ownership list.
+   * @return The owned item count.
    */
-  public void removeItem(Item item) {
-    ownedItems.remove(item);
+  public int getOwnedItemCount() {
+    return ownedItemIds.size();
+  }
+
+  /**
+   * Checks if the member owns the item with the given ID.
+   *
+   * @param itemId The ID of the item.
+   * @return true if the member owns the item; false otherwise.
+   */
+  public boolean ownsItem(int itemId) {
+    return ownedItemIds.contains(itemId);
+  }
 
+  /**
+   * Adds an item to the items owned by the member. Adding an item that is
+   * already owned has no effect.
+   *
+   * @param item The item to add to the member's ownership set.
+   */
+  public void addItem(Item item) {
+    ownedItemIds.add(item.getId());
   }
 
-  public void clearAllMembers() {
-    memberList.clear();
+  /**
+   * Removes an item from the items owned by the member.
+   *
+   * @param item The item to remove from the member's ownership set.
+   */
+  public void removeItem(Item item) {
+    ownedItemIds.remove(item.getId());
   }
 
 }
@@ -1,7 +1,5 @@
 package model;
 
-import java.util.regex.Pattern;
-
 /**
  * Factory class for creating Member instances with validation. This class
  * ensures that each member has unique email and phone attributes and that
@@ -9,11 +7,20 @@ import java.util.regex.Pattern;
  */
 public class MemberFactory {
 
-  private Member member = new Member();
-  // Renamed constants to follow CheckStyle naming conventions
-  private Pattern emailPattern = Pattern.compile("^[A-Za-z0-9._%+-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$");
-  private Pattern phonePattern = Pattern.compile("^\\d{8,15}$");
+  private MemberRepository memberRepo;
 
+  /**
+   * Constructs a MemberFactory that checks uniqueness against the given
+   * repository.
+   *
+   * @param memberRepo The repository holding all registered members.
+   */
+  public MemberFactory(MemberRepository memberRepo) {
+    if (memberRepo == null) {
+      throw new IllegalArgumentException("Member repository cannot be null.");
+    }
+    this.memberRepo = memberRepo;
+  }
 
   /**
    * Creates a new Member instance with validation for name, email, and phone.
@@ -32,19 +39,36 @@ public class MemberFactory {
    *                                  or phone is not unique.
    */
   public Member createMember(String name, String email, String phone) {
+    checkWellFormed(name, email, phone);
+    if (!memberRepo.isEmailOrPhoneUnique(email, phone)) {
+      throw new IllegalArgumentException("Email or phone number already exists.");
+    }
+
+    return new Member(name, email, phone);
+  }
+
+  /**
+   * Checks the format of a new member's name, email, and phone without
+   * checking uniqueness, creating a member or locking the repository. Safe to
+   * call from several threads.
+   *
+   * @param name  The name of the member; must be non-null and non-empty.
+   * @param email The email of the member; must be non-null, non-empty, and
+   *              valid.
+   * @param phone The phone number of the member; must be non-null, non-empty,
+   *              and valid.
+   * @throws IllegalArgumentException if any parameter is null, empty or
+   *                                  malformed.
+   */
+  public static void checkWellFormed(String name, String email, String phone) {
     if (name == null || name.isBlank()) {
       throw new IllegalArgumentException("Name cannot be empty.");
     }
-    if (email == null || email.isBlank() || !emailPattern.matcher(email).matches()) {
+    if (email == null || email.isBlank() || !MemberValidator.isValidEmail(email)) {
       throw new IllegalArgumentException("Email cannot be empty and must be valid.");
     }
-    if (phone == null || phone.isBlank() || !phonePattern.matcher(phone).matches()) {
+    if (phone == null || phone.isBlank() || !MemberValidator.isValidPhone(phone)) {
       throw new IllegalArgumentException("Phone cannot be empty and must be valid.");
     }
-    if (!member.isEmailOrPhoneUnique(email, phone)) {
-      throw new IllegalArgumentException("Email or phone number already exists.");
-    }
-
-    return new Member(name, email, phone);
   }
 }
@@ -0,0 +1,109 @@
+package model;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands out unique 6-character alphanumeric member IDs in constant time.
+ * A counter is scrambled through an affine bijection over the 36^6 ID space,
+ * so consecutive members get unrelated-looking IDs without any retry loop or
+ * lookup of existing IDs. The allocator is thread-safe and its state (the
+ * number of IDs issued) can be saved and restored across restarts.
+ */
+public class MemberIdAllocator {
+
+  private static final String ALPHANUMERIC = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
+  private static final int ID_LENGTH = 6;
+  private static final long ID_SPACE = 2_176_782_336L; // 36^6
+  // Coprime with 36^6 (neither even nor a multiple of 3), so the mapping is a
+  // bijection over the ID space.
+  private static final long MULTIPLIER = 1_500_450_271L;
+  private static final long OFFSET = 192_947L;
+
+  private final AtomicLong issued;
+
+  /**
+   * Constructs an allocator that has not issued any IDs yet.
+   */
+  public MemberIdAllocator() {
+    this(0);
+  }
+
+  /**
+   * Constructs an allocator that continues after the given number of issued
+   * IDs.
+   *
+   * @param issuedCount The number of IDs already issued.
+   * @throws IllegalArgumentException if the count is outside the ID space.
+   */
+  public MemberIdAllocator(long issuedCount) {
+    if (issuedCount < 0 || issuedCount > ID_SPACE) {
+      throw new IllegalArgumentException("Issued ID count is out of range.");
+    }
+    this.issued = new AtomicLong(issuedCount);
+  }
+
+  /**
+   * Allocates the next unique member ID.
+   *
+   * @return A unique 6-character member ID.
+   * @throws IllegalStateException if every ID has already been issued.
+   */
+  public String nextId() {
+    long sequence = issued.getAndIncrement();
+    if (sequence >= ID_SPACE) {
+      issued.set(ID_SPACE);
+      throw new IllegalStateException("Member ID space is exhausted.");
+    }
+    long value = (sequence * MULTIPLIER + OFFSET) % ID_SPACE;
+
+    char[] id = new char[ID_LENGTH];
+    for (int i = ID_LENGTH - 1; i >= 0; i--) {
+      id[i] = ALPHANUMERIC.charAt((int) (value % 36));
+      value /= 36;
+    }
+    return new String(id);
+  }
+
+  /**
+   * Gets the number of IDs issued so far.
+   *
+   * @return The issued ID count.
+   */
+  public long getIssuedCount() {
+    return issued.get();
+  }
+
+  /**
+   * Saves the allocator state to a file.
+   *
+   * @param file The file to write the state to.
+   * @throws IOException if the file cannot be written.
+   */
+  public void save(Path file) throws IOException {
+    Files.writeString(file, Long.toString(issued.get()), StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Loads an allocator from a file written by {@link #save(Path)}. A missing
+   * file yields a fresh allocator.
+   *
+   * @param file The file to read the state from.
+   * @return The restored allocator.
+   * @throws IOException if the file exists but cannot be read or parsed.
+   */
+  public static MemberIdAllocator load(Path file) throws IOException {
+    if (!Files.exists(file)) {
+      return new MemberIdAllocator();
+    }
+    String state = Files.readString(file, StandardCharsets.UTF_8).trim();
+    try {
+      return new MemberIdAllocator(Long.parseLong(state));
+    } catch (IllegalArgumentException e) {
+      throw new IOException("Invalid member ID allocator state: " + state, e);
+    }
+  }
+}
@@ -0,0 +1,230 @@
+package model;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Imports members in bulk from CSV ({@code name,email,phone}) or JSONL
+ * ({@code {"name": ..., "email": ..., "phone": ...}}) files. The file is
+ * streamed in chunks; each chunk is parsed and checked for well-formed fields
+ * in parallel with the same rules as {@link MemberFactory}, without touching
+ * the repository, then inserted into the repository as one batch, which
+ * checks uniqueness in a single pass and creates members only for the rows
+ * that pass it.
+ */
+public class MemberImporter {
+
+  private static final int CHUNK_SIZE = 4096;
+  private static final Pattern JSON_FIELD = Pattern.compile(
+      "\"(name|email|phone)\"\\s*:\\s*\"((?:[^\"\\\\]|\\\\.)*)\"");
+
+  private MemberRepository memberRepo;
+  private MemberFactory memberFac;
+
+  /**
+   * Constructs a MemberImporter that registers members in the given repository.
+   *
+   * @param memberRepo The repository the imported members are added to.
+   */
+  public MemberImporter(MemberRepository memberRepo) {
+    if (memberRepo == null) {
+      throw new IllegalArgumentException("Member repository cannot be null.");
+    }
+    this.memberRepo = memberRepo;
+    this.memberFac = new MemberFactory(memberRepo);
+  }
+
+  /**
+   * Imports all members from a file. Files ending in {@code .jsonl} or
+   * {@code .json} are read as JSON lines, anything else as CSV. A CSV header
+   * line starting with {@code name} is skipped.
+   *
+   * @param file The file to import.
+   * @return A report of imported and rejected rows.
+   * @throws IOException if the file cannot be read.
+   */
+  public ImportReport importFile(Path file) throws IOException {
+    String fileName = file.getFileName().toString().toLowerCase(Locale.ROOT);
+    boolean jsonLines = fileName.endsWith(".jsonl") || fileName.endsWith(".json");
+    ImportReport report = new ImportReport();
+    long start = System.nanoTime();
+
+    try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+      List<Row> chunk = new ArrayList<>(CHUNK_SIZE);
+      String line;
+      int lineNumber = 0;
+      while ((line = reader.readLine()) != null) {
+        lineNumber++;
+        if (line.isBlank() || (lineNumber == 1 && !jsonLines && isCsvHeader(line))) {
+          continue;
+        }
+        chunk.add(new Row(lineNumber, line));
+        if (chunk.size() == CHUNK_SIZE) {
+          importChunk(chunk, jsonLines, report);
+          chunk.clear();
+        }
+      }
+      importChunk(chunk, jsonLines, report);
+    }
+
+    report.elapsedNanos = System.nanoTime() - start;
+    return report;
+  }
+
+  /**
+   * Validates a chunk of rows in parallel and inserts the valid ones as a batch.
+   * Rejected rows are reported in file order, whether they were malformed or
+   * duplicates.
+   */
+  private void importChunk(List<Row> chunk, boolean jsonLines, ImportReport report) {
+    if (chunk.isEmpty()) {
+      return;
+    }
+    chunk.parallelStream().forEach(row -> validate(row, jsonLines));
+
+    List<String[]> batch = new ArrayList<>(chunk.size());
+    for (Row row : chunk) {
+      if (row.fields != null) {
+        batch.add(row.fields);
+      }
+    }
+
+    Iterator<String> duplicates = memberRepo.registerMembers(batch, memberFac).iterator();
+    for (Row row : chunk) {
+      String reason = row.fields == null ? row.error : duplicates.next();
+      if (reason == null) {
+        report.imported++;
+      } else {
+        report.reject(row.lineNumber, reason);
+      }
+    }
+  }
+
+  /**
+   * Parses a single row and checks the format of its fields, recording the
+   * error if the row is malformed. Uniqueness is left to the batch insert,
+   * which creates the member.
+   */
+  private void validate(Row row, boolean jsonLines) {
+    String[] fields = jsonLines ? parseJsonLine(row.line) : parseCsvLine(row.line);
+    if (fields == null) {
+      row.error = "Malformed row.";
+      return;
+    }
+    try {
+      MemberFactory.checkWellFormed(fields[0], fields[1], fields[2]);
+      row.fields = fields;
+    } catch (IllegalArgumentException e) {
+      row.error = e.getMessage();
+    }
+  }
+
+  private boolean isCsvHeader(String line) {
+    return line.trim().toLowerCase(Locale.ROOT).startsWith("name");
+  }
+
+  /**
+   * Splits a CSV line into name, email and phone, removing surrounding quotes.
+   */
+  private String[] parseCsvLine(String line) {
+    String[] parts = line.split(",", -1);
+    if (parts.length != 3) {
+      return null;
+    }
+    for (int i = 0; i < parts.length; i++) {
+      String part = parts[i].trim();
+      if (part.length() >= 2 && part.startsWith("\"") && part.endsWith("\"")) {
+        part = part.substring(1, part.length() - 1);
+      }
+      parts[i] = part;
+    }
+    return parts;
+  }
+
+  /**
+   * Extracts name, email and phone from a flat JSON object on a single line.
+   */
+  private String[] parseJsonLine(String line) {
+    String[] fields = new String[3];
+    Matcher matcher = JSON_FIELD.matcher(line);
+    while (matcher.find()) {
+      String value = matcher.group(2).replace("\\\"", "\"").replace("\\\\", "\\");
+      switch (matcher.group(1)) {
+        case "name" -> fields[0] = value;
+        case "email" -> fields[1] = value;
+        default -> fields[2] = value;
+      }
+    }
+    if (fields[0] == null || fields[1] == null || fields[2] == null) {
+      return null;
+    }
+    return fields;
+  }
+
+  /**
+   * A single input row and the outcome of validating it.
+   */
+  private static class Row {
+    private final int lineNumber;
+    private final String line;
+    private String[] fields;
+    private String error;
+
+    Row(int lineNumber, String line) {
+      this.lineNumber = lineNumber;
+      this.line = line;
+    }
+  }
+
+  /**
+   * Summary of a bulk import: how many rows were imported, which rows were
+   * rejected and why, and how fast the import ran.
+   */
+  public static class ImportReport {
+    private int imported;
+    private List<String> rejectedRows = new ArrayList<>();
+    private long elapsedNanos;
+
+    private void reject(int lineNumber, String reason) {
+      rejectedRows.add("Line " + lineNumber + ": " + reason);
+    }
+
+    /**
+     * Gets the number of members that were imported.
+     *
+     * @return The imported row count.
+     */
+    public int getImportedCount() {
+      return imported;
+    }
+
+    /**
+     * Gets the rejected rows, each described by its line number and reason.
+     *
+     * @return The rejected rows in file order.
+     */
+    public List<String> getRejectedRows() {
+      return Collections.unmodifiableList(rejectedRows);
+    }
+
+    /**
+     * Gets the import throughput over all processed rows.
+     *
+     * @return The number of rows processed per second.
+     */
+    public double getRowsPerSecond() {
+      int rows = imported + rejectedRows.size();
+      return elapsedNanos == 0 ? 0 : rows / (elapsedNanos / 1_000_000_000.0);
+    }
+  }
+}
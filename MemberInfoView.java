@@ -1,17 +1,13 @@
 package view;
 
 import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
-<<<<<<< HEAD
-=======
-import java.util.HashSet;
->>>>>>> b973a75a4057880a24dbbe8e4d7f045fea123c43
 import java.util.List;
 import java.util.Scanner;
-import java.util.Set;
-import java.util.regex.Pattern;
 import model.Item;
+import model.ItemRepository;
 import model.Member;
+import model.MemberImporter;
+import model.MemberValidator;
 
 /**
  * The MemberInfoView class handles the display and input of member-related
@@ -22,11 +18,6 @@ public class MemberInfoView {
 
   private Scanner scanner = new Scanner(System.in, StandardCharsets.UTF_8);
 
-  // Regex patterns for validation
-  private Pattern namePattern = Pattern.compile("^[A-Za-z]+\\s[A-Za-z]+$");
-  private Pattern emailPattern = Pattern.compile("^[A-Za-z0-9._%+-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$");
-  private Pattern phonePattern = Pattern.compile("^\\d{8,15}$");
-
   /**
    * send a copy.
    */
@@ -38,34 +29,18 @@ public class MemberInfoView {
    * Displays a simple list of members, showing each member's ID, name, email,
    * credits, and the number of owned items. If no members are found, a message
    * is displayed.
-   * The list of members to be displayed.
+   *
+   * @param allMembers The list of members to be displayed.
    */
-  public void displayMembersSimple(List<Member> membersFromDataInitializer, List<Member> membersFromRepo) {
-    // Skapa en kombinerad lista direkt
-    List<Member> allMembers = new ArrayList<>(membersFromDataInitializer);
-<<<<<<< HEAD
-    allMembers.addAll(membersFromRepo);
-=======
-    // allMembers.addAll(membersFromRepo);
-
-    membersFromRepo.stream()
-        .filter(member -> allMembers.stream().noneMatch(m -> m.getId().equals(member.getId())))
-        .forEach(allMembers::add);
->>>>>>> b973a75a4057880a24dbbe8e4d7f045fea123c43
-
+  public void displayMembersSimple(List<Member> allMembers) {
     System.out.println("\nSimple Member List:");
     if (allMembers.isEmpty()) {
       System.out.println("No members found.");
     } else {
       for (Member member : allMembers) {
-<<<<<<< HEAD
-=======
-        Set<Item> uniqueItems = new HashSet<>(member.getOwnedItemsCopy());
-
->>>>>>> b973a75a4057880a24dbbe8e4d7f045fea123c43
         System.out.printf("ID: %s, Name: %s, Email: %s, Credits: %.2f, Owned Items: %d%n",
             member.getId(), member.getName(), member.getEmail(), member.getCredits(),
-            uniqueItems.size());
+            member.getOwnedItemCount());
       }
     }
   }
@@ -73,27 +48,18 @@ public class MemberInfoView {
   /**
    * Displays a detailed list of members, including each member's verbose
    * information, owned items, and other detailed info.
-   * The list of members to be displayed.
+   *
+   * @param allMembers The list of members to be displayed.
+   * @param itemRepo   The repository the members' owned items are looked up
+   *                   in.
    */
-  public void displayMembersVerbose(List<Member> membersFromDataInitializer, List<Member> membersFromRepo) {
-    // Skapa en kombinerad lista direkt
-    List<Member> allMembers = new ArrayList<>(membersFromDataInitializer);
-<<<<<<< HEAD
-    allMembers.addAll(membersFromRepo);
-=======
-    // allMembers.addAll(membersFromRepo);
-
-    membersFromRepo.stream()
-        .filter(member -> allMembers.stream().noneMatch(m -> m.getId().equals(member.getId())))
-        .forEach(allMembers::add);
->>>>>>> b973a75a4057880a24dbbe8e4d7f045fea123c43
-
+  public void displayMembersVerbose(List<Member> allMembers, ItemRepository itemRepo) {
     System.out.println("\nVerbose Member List:");
     if (allMembers.isEmpty()) {
       System.out.println("No members found.");
     } else {
       for (Member member : allMembers) {
-        displayMemberDetails(member);
+        displayMemberDetails(member, itemRepo.findItemsOwnedBy(member.getId()));
       }
     }
   }
@@ -101,19 +67,18 @@ public class MemberInfoView {
   /**
    * Displays detailed information for a single member, including owned items
    * and credits.
-   * The member to display.
+   *
+   * @param member     The member to display.
+   * @param ownedItems The items the member owns.
    */
-  public void displayMemberDetails(Member member) {
+  public void displayMemberDetails(Member member, List<Item> ownedItems) {
     System.out.printf("%nMember ID: %s%nName: %s%nEmail: %s%nPhone: %s%nCredits: %.2f%nOwned Items:%n",
         member.getId(), member.getName(), member.getEmail(), member.getPhone(), member.getCredits());
-    List<Item> uniqueItems = member.getOwnedItemsCopy().stream().distinct()
-        .distinct() // Filtrera dubbletter.
-        .toList();
 
-    if (uniqueItems.isEmpty()) {
+    if (ownedItems.isEmpty()) {
       System.out.println("No items owned.");
     } else {
-      uniqueItems.forEach(item -> System.out.printf("  - Item ID: %d, Name: %s, Cost per Day: %.2f%n",
+      ownedItems.forEach(item -> System.out.printf("  - Item ID: %d, Name: %s, Cost per Day: %.2f%n",
           item.getId(), item.getName(), item.getCostPerDay()));
     }
   }
@@ -155,7 +120,7 @@ public class MemberInfoView {
     while (true) {
       System.out.println("Enter the member name (First Last):");
       String name = scanner.nextLine().trim();
-      if (namePattern.matcher(name).matches()) {
+      if (MemberValidator.isValidFullName(name)) {
         return name;
       }
       System.out.println("Error: Invalid name format. Please enter a first and last name, e.g., 'John Doe'.");
@@ -171,7 +136,7 @@ public class MemberInfoView {
     while (true) {
       System.out.println("Enter the member email (example@domain.com):");
       String email = scanner.nextLine().trim();
-      if (emailPattern.matcher(email).matches()) {
+      if (MemberValidator.isValidEmail(email)) {
         return email;
       }
       System.out.println("Error: Invalid email format. Please use the format 'example@domain.com'.");
@@ -188,7 +153,7 @@ public class MemberInfoView {
     while (true) {
       System.out.println("Enter the member phone (8 to 15 digits):");
       String phone = scanner.nextLine().trim();
-      if (phonePattern.matcher(phone).matches()) {
+      if (MemberValidator.isValidPhone(phone)) {
         return phone;
       }
       System.out.println("Error: Invalid phone format. The phone number must be between 8 and 15 digits.");
@@ -212,18 +177,32 @@ public class MemberInfoView {
    */
   public void displayMemberCreationSuccess(Member member) {
     System.out.println(" \n Member created successfully:");
-    displayMemberDetails(member);
+    displayMemberDetails(member, List.of()); // A new member owns no items yet.
   }
 
   /**
    * Displays a success message when a member is successfully updated,
    * showing the updated member's details.
    *
-   * @param member The member that was successfully updated.
+   * @param member     The member that was successfully updated.
+   * @param ownedItems The items the member owns.
    */
-  public void displayMemberUpdateSuccess(Member member) {
+  public void displayMemberUpdateSuccess(Member member, List<Item> ownedItems) {
     System.out.println("\n Member updated successfully:");
-    displayMemberDetails(member);
+    displayMemberDetails(member, ownedItems);
+  }
+
+  /**
+   * Displays the outcome of a bulk member import, including the reason each
+   * rejected row was skipped and the import throughput.
+   *
+   * @param report The report of the finished import.
+   */
+  public void displayImportReport(MemberImporter.ImportReport report) {
+    System.out.printf("%nImported members: %d%nRejected rows: %d%n",
+        report.getImportedCount(), report.getRejectedRows().size());
+    report.getRejectedRows().forEach(row -> System.out.println("  - " + row));
+    System.out.printf("Throughput: %.0f rows/second%n", report.getRowsPerSecond());
   }
 
   /**
@@ -239,13 +218,13 @@ public class MemberInfoView {
    * check entered information.
    */
   public String validateMemberInputs(String name, String email, String phone) {
-    if (name == null || !namePattern.matcher(name).matches()) {
+    if (name == null || !MemberValidator.isValidFullName(name)) {
       return "Name format is invalid.";
     }
-    if (email == null || !emailPattern.matcher(email).matches()) {
+    if (email == null || !MemberValidator.isValidEmail(email)) {
       return "Email is invalid.";
     }
-    if (phone == null || !phonePattern.matcher(phone).matches()) {
+    if (phone == null || !MemberValidator.isValidPhone(phone)) {
       return "Phone number is invalid.";
     }
     return null;
@@ -0,0 +1,300 @@
+package model;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Search index over member names. A trie over the full name and each word of
+ * it answers prefix queries ("ali", "alice s", "smi"), and a trigram index
+ * over each word of a name answers typo-tolerant queries ("alcie", "smtih")
+ * by ranking members on how closely each query word matches the most similar
+ * word of their name. The index is not thread-safe; {@link MemberRepository}
+ * updates and queries it under its own lock.
+ */
+public class MemberNameIndex {
+
+  private static final int GRAM_LENGTH = 3;
+  private static final double MIN_SIMILARITY = 0.3;
+  private static final int MAX_CANDIDATES = 5_000;
+
+  private TrieNode root = new TrieNode();
+  private Map<String, Set<String>> gramPostings = new HashMap<>();
+  private Map<String, String> namesById = new HashMap<>();
+
+  /**
+   * Adds a member's name to the index.
+   *
+   * @param memberId The ID of the member.
+   * @param name     The name of the member.
+   */
+  public void add(String memberId, String name) {
+    String normalized = normalize(name);
+    namesById.put(memberId, normalized);
+    for (String key : trieKeys(normalized)) {
+      insert(key, memberId);
+    }
+    for (String gram : nameGrams(normalized)) {
+      gramPostings.computeIfAbsent(gram, g -> new HashSet<>()).add(memberId);
+    }
+  }
+
+  /**
+   * Removes a member from the index.
+   *
+   * @param memberId The ID of the member.
+   */
+  public void remove(String memberId) {
+    String normalized = namesById.remove(memberId);
+    if (normalized == null) {
+      return;
+    }
+    for (String key : trieKeys(normalized)) {
+      delete(root, key, 0, memberId);
+    }
+    for (String gram : nameGrams(normalized)) {
+      Set<String> posting = gramPostings.get(gram);
+      if (posting != null) {
+        posting.remove(memberId);
+        if (posting.isEmpty()) {
+          gramPostings.remove(gram);
+        }
+      }
+    }
+  }
+
+  /**
+   * Removes all names from the index.
+   */
+  public void clear() {
+    root = new TrieNode();
+    gramPostings.clear();
+    namesById.clear();
+  }
+
+  /**
+   * Searches for members whose name matches the query. Members with a name or
+   * name word starting with the query come first, shortest match first; the
+   * remaining places are filled with the most similar names by the trigram
+   * overlap of their words.
+   *
+   * @param query The name or part of a name to search for.
+   * @param limit The maximum number of results.
+   * @return The IDs of the matching members, best match first.
+   */
+  public List<String> search(String query, int limit) {
+    String normalized = normalize(query);
+    if (normalized.isEmpty() || limit <= 0) {
+      return new ArrayList<>();
+    }
+    Set<String> results = new LinkedHashSet<>();
+    collectPrefixMatches(normalized, limit, results);
+    if (results.size() < limit) {
+      collectFuzzyMatches(normalized, limit, results);
+    }
+    return new ArrayList<>(results);
+  }
+
+  private void collectPrefixMatches(String prefix, int limit, Set<String> results) {
+    TrieNode node = root;
+    for (int i = 0; i < prefix.length() && node != null; i++) {
+      node = node.children.get(prefix.charAt(i));
+    }
+    if (node == null) {
+      return;
+    }
+    // Breadth-first, so shorter completions are found before longer ones.
+    ArrayDeque<TrieNode> queue = new ArrayDeque<>();
+    queue.add(node);
+    while (!queue.isEmpty() && results.size() < limit) {
+      TrieNode current = queue.poll();
+      for (String memberId : current.memberIds()) {
+        results.add(memberId);
+        if (results.size() == limit) {
+          return;
+        }
+      }
+      queue.addAll(current.children.values());
+    }
+  }
+
+  private void collectFuzzyMatches(String query, int limit, Set<String> results) {
+    // Draw candidates from the rarest trigrams of the query first: they are the
+    // most selective, and common trigrams would otherwise pull in most members.
+    List<Set<String>> queryWords = wordGrams(query);
+    List<Set<String>> postings = new ArrayList<>();
+    for (String gram : nameGrams(query)) {
+      Set<String> posting = gramPostings.get(gram);
+      if (posting != null) {
+        postings.add(posting);
+      }
+    }
+    postings.sort(Comparator.comparingInt(Set::size));
+
+    Set<String> candidates = new HashSet<>();
+    for (Set<String> posting : postings) {
+      for (String memberId : posting) {
+        if (candidates.size() == MAX_CANDIDATES) {
+          break;
+        }
+        candidates.add(memberId);
+      }
+    }
+
+    // Keep only the best matches in a small min-heap instead of sorting them all.
+    int wanted = limit - results.size();
+    PriorityQueue<Map.Entry<String, Double>> best =
+        new PriorityQueue<>(Map.Entry.comparingByValue());
+    for (String memberId : candidates) {
+      if (results.contains(memberId)) {
+        continue;
+      }
+      double similarity = similarity(queryWords, wordGrams(namesById.get(memberId)));
+      if (similarity >= MIN_SIMILARITY
+          && (best.size() < wanted || similarity > best.peek().getValue())) {
+        best.add(Map.entry(memberId, similarity));
+        if (best.size() > wanted) {
+          best.poll();
+        }
+      }
+    }
+    List<Map.Entry<String, Double>> ranked = new ArrayList<>(best);
+    ranked.sort(Map.Entry.<String, Double>comparingByValue().reversed());
+    for (Map.Entry<String, Double> entry : ranked) {
+      results.add(entry.getKey());
+    }
+  }
+
+  /**
+   * Scores a name against the query: each query word is matched with the
+   * name word it has the highest Dice coefficient with, and the scores are
+   * averaged over the query words. A one-word query thus scores on the best
+   * word of the name rather than the whole name.
+   */
+  private static double similarity(List<Set<String>> queryWords, List<Set<String>> nameWords) {
+    double total = 0;
+    for (Set<String> queryGrams : queryWords) {
+      double best = 0;
+      for (Set<String> wordGrams : nameWords) {
+        best = Math.max(best, dice(queryGrams, wordGrams));
+      }
+      total += best;
+    }
+    return total / queryWords.size();
+  }
+
+  /**
+   * Computes the Dice coefficient between two sets of trigrams.
+   */
+  private static double dice(Set<String> first, Set<String> second) {
+    int shared = 0;
+    for (String gram : first) {
+      if (second.contains(gram)) {
+        shared++;
+      }
+    }
+    return 2.0 * shared / (first.size() + second.size());
+  }
+
+  private void insert(String key, String memberId) {
+    TrieNode node = root;
+    for (int i = 0; i < key.length(); i++) {
+      node = node.children.computeIfAbsent(key.charAt(i), c -> new TrieNode());
+    }
+    if (node.memberIds == null) {
+      node.memberIds = new HashSet<>();
+    }
+    node.memberIds.add(memberId);
+  }
+
+  /**
+   * Removes a member from the node for the key and prunes nodes left empty.
+   *
+   * @return true if the node is now empty and can be removed from its parent.
+   */
+  private boolean delete(TrieNode node, String key, int depth, String memberId) {
+    if (depth == key.length()) {
+      if (node.memberIds != null && node.memberIds.remove(memberId) && node.memberIds.isEmpty()) {
+        node.memberIds = null;
+      }
+    } else {
+      TrieNode child = node.children.get(key.charAt(depth));
+      if (child != null && delete(child, key, depth + 1, memberId)) {
+        node.children.remove(key.charAt(depth));
+      }
+    }
+    return node.memberIds == null && node.children.isEmpty();
+  }
+
+  /**
+   * Returns the full name and each of its words, which are all indexed in the
+   * trie.
+   */
+  private static Set<String> trieKeys(String normalized) {
+    Set<String> keys = new HashSet<>();
+    keys.add(normalized);
+    for (String word : normalized.split(" ")) {
+      if (!word.isEmpty()) {
+        keys.add(word);
+      }
+    }
+    return keys;
+  }
+
+  /**
+   * Returns the trigrams of all words of a name, which are indexed in the
+   * postings.
+   */
+  private static Set<String> nameGrams(String normalized) {
+    Set<String> grams = new HashSet<>();
+    for (Set<String> word : wordGrams(normalized)) {
+      grams.addAll(word);
+    }
+    return grams;
+  }
+
+  /**
+   * Returns the set of trigrams of each word of a name. Each word is padded
+   * with two spaces on both sides, so that its first and last letters weigh
+   * as much as the inner ones.
+   */
+  private static List<Set<String>> wordGrams(String normalized) {
+    List<Set<String>> words = new ArrayList<>();
+    for (String word : normalized.split(" ")) {
+      if (word.isEmpty()) {
+        continue;
+      }
+      String padded = "  " + word + "  ";
+      Set<String> grams = new HashSet<>();
+      for (int i = 0; i + GRAM_LENGTH <= padded.length(); i++) {
+        grams.add(padded.substring(i, i + GRAM_LENGTH));
+      }
+      words.add(grams);
+    }
+    return words;
+  }
+
+  private static String normalize(String name) {
+    return name == null ? "" : name.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+  }
+
+  /**
+   * A node of the prefix trie.
+   */
+  private static class TrieNode {
+    private final Map<Character, TrieNode> children = new HashMap<>();
+    private Set<String> memberIds; // Created when the first key ends here
+
+    private Set<String> memberIds() {
+      return memberIds == null ? Set.of() : memberIds;
+    }
+  }
+}
@@ -0,0 +1,329 @@
+package model;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Repository holding all members of the system. Members are indexed by their
+ * unique ID in a hash map, so lookups, additions and removals run in constant
+ * time regardless of how many members are registered. Two sorted maps, one
+ * keyed by ID and one by name, serve only the stable, cursor-based pages in
+ * either order. Case-folded emails and normalized phone numbers are kept in
+ * hash sets so that uniqueness is checked and enforced in constant time.
+ */
+public class MemberRepository {
+
+  /**
+   * The orders in which members can be paged through.
+   */
+  public enum SortOrder {
+    ID, NAME
+  }
+
+  private Map<String, Member> membersById = new HashMap<>();
+  private NavigableMap<String, Member> sortedById = new TreeMap<>();
+  private NavigableMap<String, Member> sortedByName = new TreeMap<>();
+  private Set<String> emails = new HashSet<>();
+  private Set<String> phones = new HashSet<>();
+  private MemberNameIndex nameIndex = new MemberNameIndex();
+
+  /**
+   * Finds a member by their unique ID.
+   *
+   * @param memberId The ID of the member to find.
+   * @return An Optional containing the member if found, or empty if not.
+   */
+  public synchronized Optional<Member> findMemberById(String memberId) {
+    if (memberId == null) {
+      return Optional.empty();
+    }
+    return Optional.ofNullable(membersById.get(memberId.trim()));
+  }
+
+  /**
+   * Checks if the provided email or phone number is unique among all members.
+   * Emails are compared case-insensitively and phone numbers by their digits.
+   *
+   * @param email The email to check for uniqueness.
+   * @param phone The phone number to check for uniqueness.
+   * @return true if both email and phone are unique; false otherwise.
+   */
+  public synchronized boolean isEmailOrPhoneUnique(String email, String phone) {
+    return !emails.contains(normalizeEmail(email)) && !phones.contains(normalizePhone(phone));
+  }
+
+  /**
+   * Adds a member to the repository.
+   *
+   * @param member The member to add.
+   * @throws IllegalArgumentException if the member is null, its ID is already
+   *                                  registered, or its email or phone number
+   *                                  is already in use.
+   */
+  public synchronized void addMember(Member member) {
+    if (member == null) {
+      throw new IllegalArgumentException("Member cannot be null.");
+    }
+    if (membersById.containsKey(member.getId())) {
+      throw new IllegalArgumentException("A member with this ID already exists.");
+    }
+    if (!isEmailOrPhoneUnique(member.getEmail(), member.getPhone())) {
+      throw new IllegalArgumentException("Email or phone number already exists.");
+    }
+    membersById.put(member.getId(), member);
+    sortedById.put(member.getId(), member);
+    sortedByName.put(nameKey(member), member);
+    emails.add(normalizeEmail(member.getEmail()));
+    phones.add(normalizePhone(member.getPhone()));
+    nameIndex.add(member.getId(), member.getName());
+  }
+
+  /**
+   * Registers a batch of new members under a single lock acquisition. Each
+   * member is created by the factory only after its email and phone number
+   * have been found unique, among the registered members and the earlier
+   * entries of the batch, so rejected entries consume no member ID and open
+   * no credit account.
+   *
+   * @param batch   The name, email and phone of each new member, in insertion
+   *                order.
+   * @param factory The factory that validates and creates the members against
+   *                this repository.
+   * @return For each entry, the reason it was rejected, or null if it was
+   *         registered.
+   */
+  public synchronized List<String> registerMembers(List<String[]> batch, MemberFactory factory) {
+    List<String> rejections = new ArrayList<>(batch.size());
+    for (String[] details : batch) {
+      try {
+        addMember(factory.createMember(details[0], details[1], details[2]));
+        rejections.add(null);
+      } catch (IllegalArgumentException e) {
+        rejections.add(e.getMessage());
+      }
+    }
+    return rejections;
+  }
+
+  /**
+   * Updates a registered member's details, keeping the uniqueness index in
+   * sync. The member may keep its own email and phone number.
+   *
+   * @param member The member to update.
+   * @param name   The new name of the member.
+   * @param email  The new email of the member.
+   * @param phone  The new phone number of the member.
+   * @throws IllegalArgumentException if the member is not registered, any
+   *                                  parameter is invalid, or the email or
+   *                                  phone number belongs to another member.
+   */
+  public synchronized void updateMember(Member member, String name, String email, String phone) {
+    if (member == null || membersById.get(member.getId()) != member) {
+      throw new IllegalArgumentException("Member is not registered.");
+    }
+    String oldEmail = normalizeEmail(member.getEmail());
+    String oldPhone = normalizePhone(member.getPhone());
+    String newEmail = normalizeEmail(email);
+    String newPhone = normalizePhone(phone);
+    if (!newEmail.equals(oldEmail) && emails.contains(newEmail)) {
+      throw new IllegalArgumentException("Email already exists.");
+    }
+    if (!newPhone.equals(oldPhone) && phones.contains(newPhone)) {
+      throw new IllegalArgumentException("Phone number already exists.");
+    }
+
+    String oldNameKey = nameKey(member);
+    member.updateMember(name, email, phone);
+    sortedByName.remove(oldNameKey);
+    sortedByName.put(nameKey(member), member);
+    emails.remove(oldEmail);
+    phones.remove(oldPhone);
+    emails.add(newEmail);
+    phones.add(newPhone);
+    nameIndex.remove(member.getId());
+    nameIndex.add(member.getId(), member.getName());
+  }
+
+  /**
+   * Removes a member from the repository.
+   *
+   * @param member The member to remove.
+   * @return true if the member was removed; false otherwise.
+   */
+  public synchronized boolean removeMember(Member member) {
+    if (member == null || !membersById.remove(member.getId(), member)) {
+      return false;
+    }
+    sortedById.remove(member.getId());
+    sortedByName.remove(nameKey(member));
+    emails.remove(normalizeEmail(member.getEmail()));
+    phones.remove(normalizePhone(member.getPhone()));
+    nameIndex.remove(member.getId());
+    return true;
+  }
+
+  /**
+   * Searches members by name. Names starting with the query rank first,
+   * followed by names that match it approximately, so small typos are
+   * tolerated.
+   *
+   * @param query The name or part of a name to search for.
+   * @param limit The maximum number of members to return.
+   * @return The matching members, best match first.
+   */
+  public synchronized List<Member> searchByName(String query, int limit) {
+    List<Member> matches = new ArrayList<>();
+    for (String memberId : nameIndex.search(query, limit)) {
+      matches.add(membersById.get(memberId));
+    }
+    return matches;
+  }
+
+  /**
+   * Returns one page of members in the given order. Pages are stable: members
+   * added or removed while paging do not cause other members to be skipped or
+   * repeated.
+   *
+   * @param order    The order to page through the members in.
+   * @param cursor   The continuation token returned with the previous page, or
+   *                 null to start at the first page.
+   * @param pageSize The maximum number of members on the page.
+   * @return The page of members.
+   * @throws IllegalArgumentException if the page size is not positive or the
+   *                                  cursor is invalid for the order.
+   */
+  public synchronized Page getPage(SortOrder order, String cursor, int pageSize) {
+    if (pageSize <= 0) {
+      throw new IllegalArgumentException("Page size must be positive.");
+    }
+    NavigableMap<String, Member> sorted = order == SortOrder.NAME ? sortedByName : sortedById;
+    NavigableMap<String, Member> remaining = cursor == null
+        ? sorted
+        : sorted.tailMap(decodeCursor(order, cursor), false);
+
+    List<Member> page = new ArrayList<>();
+    String lastKey = null;
+    for (Map.Entry<String, Member> entry : remaining.entrySet()) {
+      if (page.size() == pageSize) {
+        break;
+      }
+      page.add(entry.getValue());
+      lastKey = entry.getKey();
+    }
+    boolean hasMore = lastKey != null && sorted.higherKey(lastKey) != null;
+    return new Page(page, hasMore ? encodeCursor(order, lastKey) : null);
+  }
+
+  /**
+   * Gets the number of members in the repository.
+   *
+   * @return The member count.
+   */
+  public synchronized int size() {
+    return membersById.size();
+  }
+
+  /**
+   * Removes all members from the repository.
+   */
+  public synchronized void clearAllMembers() {
+    membersById.clear();
+    sortedById.clear();
+    sortedByName.clear();
+    emails.clear();
+    phones.clear();
+    nameIndex.clear();
+  }
+
+  /**
+   * Builds the key ordering members by name, with the ID as a tie-breaker.
+   */
+  private static String nameKey(Member member) {
+    return member.getName().toLowerCase(Locale.ROOT) + '\0' + member.getId();
+  }
+
+  private static String encodeCursor(SortOrder order, String key) {
+    String token = order.name() + ':' + key;
+    return Base64.getUrlEncoder().withoutPadding()
+        .encodeToString(token.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static String decodeCursor(SortOrder order, String cursor) {
+    String token;
+    try {
+      token = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Invalid page cursor.");
+    }
+    String prefix = order.name() + ':';
+    if (!token.startsWith(prefix)) {
+      throw new IllegalArgumentException("Page cursor does not match the sort order.");
+    }
+    return token.substring(prefix.length());
+  }
+
+  /**
+   * Case-folds an email address for the uniqueness index.
+   */
+  private static String normalizeEmail(String email) {
+    return email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+  }
+
+  /**
+   * Strips everything but digits from a phone number for the uniqueness index.
+   */
+  private static String normalizePhone(String phone) {
+    if (phone == null) {
+      return "";
+    }
+    StringBuilder digits = new StringBuilder(phone.length());
+    for (int i = 0; i < phone.length(); i++) {
+      char c = phone.charAt(i);
+      if (c >= '0' && c <= '9') {
+        digits.append(c);
+      }
+    }
+    return digits.toString();
+  }
+
+  /**
+   * A page of members together with the token to fetch the next page.
+   */
+  public static class Page {
+    private final List<Member> members;
+    private final String nextCursor;
+
+    private Page(List<Member> members, String nextCursor) {
+      this.members = members;
+      this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Gets the members on this page.
+     *
+     * @return The members in page order.
+     */
+    public List<Member> getMembers() {
+      return members;
+    }
+
+    /**
+     * Gets the continuation token for the next page.
+     *
+     * @return The token, or null if this is the last page.
+     */
+    public String getNextCursor() {
+      return nextCursor;
+    }
+  }
+}
@@ -0,0 +1,127 @@
+package model;
+
+/**
+ * Shared validation rules for member input. The checks are hand-written
+ * scanners that accept exactly the same strings as the regular expressions
+ * previously compiled in each class, without allocating a {@code Matcher}:
+ * <ul>
+ * <li>email: {@code [A-Za-z0-9._%+-]+@[A-Za-z0-9.-]+\.[A-Za-z]{2,}}</li>
+ * <li>phone: {@code \d{8,15}}</li>
+ * <li>full name: {@code [A-Za-z]+\s[A-Za-z]+}</li>
+ * </ul>
+ */
+public final class MemberValidator {
+
+  private MemberValidator() {
+  }
+
+  /**
+   * Checks if the given string is a valid email address.
+   *
+   * @param email The email to check.
+   * @return true if the email is valid; false otherwise.
+   */
+  public static boolean isValidEmail(String email) {
+    if (email == null) {
+      return false;
+    }
+    int length = email.length();
+    int at = 0;
+    while (at < length && isEmailLocalChar(email.charAt(at))) {
+      at++;
+    }
+    if (at == 0 || at == length || email.charAt(at) != '@') {
+      return false;
+    }
+
+    // The domain may contain dots itself, so the top-level domain starts after
+    // the last dot and must be at least two letters long.
+    int lastDot = -1;
+    for (int i = at + 1; i < length; i++) {
+      char c = email.charAt(i);
+      if (c == '.') {
+        lastDot = i;
+      } else if (!isLetterOrDigit(c) && c != '-') {
+        return false;
+      }
+    }
+    if (lastDot <= at + 1 || length - lastDot - 1 < 2) {
+      return false;
+    }
+    for (int i = lastDot + 1; i < length; i++) {
+      if (!isLetter(email.charAt(i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Checks if the given string is a valid phone number of 8 to 15 digits.
+   *
+   * @param phone The phone number to check.
+   * @return true if the phone number is valid; false otherwise.
+   */
+  public static boolean isValidPhone(String phone) {
+    if (phone == null || phone.length() < 8 || phone.length() > 15) {
+      return false;
+    }
+    for (int i = 0; i < phone.length(); i++) {
+      if (!isDigit(phone.charAt(i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Checks if the given string is a full name in the "First Last" format: two
+   * words of letters separated by a single whitespace character.
+   *
+   * @param name The name to check.
+   * @return true if the name is valid; false otherwise.
+   */
+  public static boolean isValidFullName(String name) {
+    if (name == null) {
+      return false;
+    }
+    int length = name.length();
+    int separator = 0;
+    while (separator < length && isLetter(name.charAt(separator))) {
+      separator++;
+    }
+    if (separator == 0 || separator >= length - 1 || !isWhitespace(name.charAt(separator))) {
+      return false;
+    }
+    for (int i = separator + 1; i < length; i++) {
+      if (!isLetter(name.charAt(i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean isEmailLocalChar(char c) {
+    return isLetterOrDigit(c) || c == '.' || c == '_' || c == '%' || c == '+' || c == '-';
+  }
+
+  private static boolean isLetterOrDigit(char c) {
+    return isLetter(c) || isDigit(c);
+  }
+
+  private static boolean isLetter(char c) {
+    return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z');
+  }
+
+  private static boolean isDigit(char c) {
+    return c >= '0' && c <= '9';
+  }
+
+  /**
+   * Matches the regex {@code \s} class: space, tab, newline, vertical tab,
+   * form feed and carriage return.
+   */
+  private static boolean isWhitespace(char c) {
+    return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+  }
+}
@@ -17,7 +17,16 @@ public enum MenuOption {
   LIST_CONTRACTS(10),
   ADVANCE_DAY(11),
   EXIT(12),
-  LIST_MEMBERS_VERBOSE(13);
+  LIST_MEMBERS_VERBOSE(13),
+  IMPORT_MEMBERS(14),
+  SEARCH_MEMBERS(15),
+  BROWSE_ITEMS_BY_CATEGORY(16),
+  SEARCH_ITEMS(17),
+  FIND_FREE_DATES(18),
+  FIND_FREE_ITEMS(19),
+  BOOK_ITEMS(20),
+  RETRY_FAILED_SETTLEMENTS(21),
+  ITEM_STATISTICS(22);
 
   private final int value;
 
@@ -0,0 +1,223 @@
+package model;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * An immutable list built as a 32-way trie with a separate tail block. Every
+ * update returns a new vector that shares all untouched nodes with the old one,
+ * so appending, replacing or removing the last element copies only one path of
+ * at most a handful of small arrays. Since a vector never changes after it has
+ * been created, repositories can hand out their current vector as a read-only
+ * snapshot in constant time.
+ *
+ * @param <E> The type of the elements.
+ */
+public final class PersistentVector<E> extends AbstractList<E> implements RandomAccess {
+
+  private static final int BITS = 5;
+  private static final int WIDTH = 1 << BITS;
+  private static final int MASK = WIDTH - 1;
+  private static final Object[] EMPTY_NODE = new Object[WIDTH];
+  private static final PersistentVector<Object> EMPTY =
+      new PersistentVector<>(0, BITS, EMPTY_NODE, new Object[0]);
+
+  private final int size;
+  private final int shift;
+  private final Object[] root;
+  private final Object[] tail;
+
+  private PersistentVector(int size, int shift, Object[] root, Object[] tail) {
+    this.size = size;
+    this.shift = shift;
+    this.root = root;
+    this.tail = tail;
+  }
+
+  /**
+   * Returns the empty vector.
+   *
+   * @param <E> The type of the elements.
+   * @return An empty vector.
+   */
+  @SuppressWarnings("unchecked")
+  public static <E> PersistentVector<E> empty() {
+    return (PersistentVector<E>) EMPTY;
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public E get(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+    return (E) blockFor(index)[index & MASK];
+  }
+
+  /**
+   * Returns a vector with the given element appended.
+   *
+   * @param element The element to append.
+   * @return The new vector.
+   */
+  public PersistentVector<E> append(E element) {
+    if (size - tailOffset() < WIDTH) {
+      Object[] newTail = Arrays.copyOf(tail, tail.length + 1);
+      newTail[tail.length] = element;
+      return new PersistentVector<>(size + 1, shift, root, newTail);
+    }
+
+    // The tail is full: push it into the trie, growing a level if needed.
+    Object[] newRoot;
+    int newShift = shift;
+    if ((size >>> BITS) > (1 << shift)) {
+      newRoot = new Object[WIDTH];
+      newRoot[0] = root;
+      newRoot[1] = newPath(shift, tail);
+      newShift += BITS;
+    } else {
+      newRoot = pushTail(shift, root, tail);
+    }
+    return new PersistentVector<>(size + 1, newShift, newRoot, new Object[] { element });
+  }
+
+  /**
+   * Returns a vector with the element at the given index replaced.
+   *
+   * @param index   The index of the element to replace.
+   * @param element The new element.
+   * @return The new vector.
+   */
+  public PersistentVector<E> with(int index, E element) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+    if (index >= tailOffset()) {
+      Object[] newTail = tail.clone();
+      newTail[index & MASK] = element;
+      return new PersistentVector<>(size, shift, root, newTail);
+    }
+    return new PersistentVector<>(size, shift, replace(shift, root, index, element), tail);
+  }
+
+  /**
+   * Returns a vector without its last element.
+   *
+   * @return The new vector.
+   * @throws IllegalStateException if the vector is empty.
+   */
+  public PersistentVector<E> withoutLast() {
+    if (size == 0) {
+      throw new IllegalStateException("Cannot remove from an empty vector.");
+    }
+    if (size == 1) {
+      return empty();
+    }
+    if (size - tailOffset() > 1) {
+      return new PersistentVector<>(size - 1, shift, root, Arrays.copyOf(tail, tail.length - 1));
+    }
+
+    // The tail becomes empty: pull the last trie block up as the new tail.
+    Object[] newTail = blockFor(size - 2);
+    Object[] newRoot = popTail(shift, root);
+    int newShift = shift;
+    if (newRoot == null) {
+      newRoot = EMPTY_NODE;
+    }
+    if (shift > BITS && newRoot[1] == null) {
+      newRoot = (Object[]) newRoot[0];
+      newShift -= BITS;
+    }
+    return new PersistentVector<>(size - 1, newShift, newRoot, newTail);
+  }
+
+  /**
+   * Returns a vector without the element at the given index. The last element
+   * takes the place of the removed one, so the removal does not shift the rest
+   * of the vector.
+   *
+   * @param index The index of the element to remove.
+   * @return The new vector.
+   */
+  public PersistentVector<E> withoutAt(int index) {
+    int last = size - 1;
+    PersistentVector<E> moved = index == last ? this : with(index, get(last));
+    return moved.withoutLast();
+  }
+
+  private int tailOffset() {
+    return size < WIDTH ? 0 : ((size - 1) >>> BITS) << BITS;
+  }
+
+  private Object[] blockFor(int index) {
+    if (index >= tailOffset()) {
+      return tail;
+    }
+    Object[] node = root;
+    for (int level = shift; level > 0; level -= BITS) {
+      node = (Object[]) node[(index >>> level) & MASK];
+    }
+    return node;
+  }
+
+  private Object[] replace(int level, Object[] node, int index, Object element) {
+    Object[] copy = node.clone();
+    if (level == 0) {
+      copy[index & MASK] = element;
+    } else {
+      int child = (index >>> level) & MASK;
+      copy[child] = replace(level - BITS, (Object[]) node[child], index, element);
+    }
+    return copy;
+  }
+
+  private Object[] pushTail(int level, Object[] parent, Object[] tailNode) {
+    int child = ((size - 1) >>> level) & MASK;
+    Object[] copy = parent.clone();
+    Object[] inserted;
+    if (level == BITS) {
+      inserted = tailNode;
+    } else {
+      Object[] existing = (Object[]) parent[child];
+      inserted = existing != null
+          ? pushTail(level - BITS, existing, tailNode)
+          : newPath(level - BITS, tailNode);
+    }
+    copy[child] = inserted;
+    return copy;
+  }
+
+  private Object[] popTail(int level, Object[] node) {
+    int child = ((size - 2) >>> level) & MASK;
+    if (level > BITS) {
+      Object[] newChild = popTail(level - BITS, (Object[]) node[child]);
+      if (newChild == null && child == 0) {
+        return null;
+      }
+      Object[] copy = node.clone();
+      copy[child] = newChild;
+      return copy;
+    }
+    if (child == 0) {
+      return null;
+    }
+    Object[] copy = node.clone();
+    copy[child] = null;
+    return copy;
+  }
+
+  private static Object[] newPath(int level, Object[] node) {
+    if (level == 0) {
+      return node;
+    }
+    Object[] path = new Object[WIDTH];
+    path[0] = newPath(level - BITS, node);
+    return path;
+  }
+}
@@ -0,0 +1,150 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Settles batches of due contracts. Large batches are split into ranges that
+ * a fork/join pool settles in parallel; each credit transfer locks only the
+ * ledger stripes of the two members involved, taken in index order, so
+ * transfers between unrelated members do not contend and cannot deadlock.
+ *
+ * <p>Transfers commute as long as none of them fails. A renter whose balance
+ * covers all of their debits in the batch, ignoring anything they receive
+ * as an owner, pays every time in any order; the other renters are
+ * insolvent for the batch. The contracts that involve an insolvent member,
+ * as renter or as owner, are settled sequentially in the given order, and
+ * the rest in parallel. The insolvent members' balances change only in the
+ * sequential part, so every contract succeeds or fails exactly as it would
+ * in sequential settlement of the whole batch, and final balances match. A
+ * contract whose renter cannot pay never stops the batch: it is skipped and
+ * left unprocessed for the caller to retry, and the rest are settled.
+ */
+public class SettlementEngine {
+
+  private static final int PARALLEL_THRESHOLD = 1024;
+  private static final int RANGE_SIZE = 256;
+
+  private final ForkJoinPool pool;
+
+  /**
+   * Constructs an engine that settles on the common fork/join pool.
+   */
+  public SettlementEngine() {
+    this(ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Constructs an engine that settles on the given pool.
+   *
+   * @param pool The pool to run parallel settlement on.
+   * @throws IllegalArgumentException if the pool is null.
+   */
+  public SettlementEngine(ForkJoinPool pool) {
+    if (pool == null) {
+      throw new IllegalArgumentException("Pool cannot be null.");
+    }
+    this.pool = pool;
+  }
+
+  /**
+   * Settles a batch of contracts. Contracts that are already processed are
+   * skipped, and so are contracts whose renter has insufficient credits; the
+   * latter stay unprocessed.
+   *
+   * @param contracts The contracts to settle, in sequential settlement order,
+   *                  i.e. by due day.
+   */
+  public void settle(List<Contract> contracts) {
+    if (contracts.size() < PARALLEL_THRESHOLD || pool.getParallelism() <= 1) {
+      settleInOrder(contracts);
+      return;
+    }
+    Set<String> insolvent = insolventRenters(contracts);
+    List<Contract> independent = new ArrayList<>(contracts.size());
+    List<Contract> dependent = new ArrayList<>();
+    for (Contract contract : contracts) {
+      if (insolvent.contains(contract.getRenterId()) || insolvent.contains(contract.getOwnerId())) {
+        dependent.add(contract);
+      } else {
+        independent.add(contract);
+      }
+    }
+    if (independent.size() < PARALLEL_THRESHOLD) {
+      settleInOrder(contracts);
+      return;
+    }
+    pool.invoke(new SettleRange(independent, 0, independent.size()));
+    settleInOrder(dependent);
+  }
+
+  private static void settleInOrder(List<Contract> contracts) {
+    for (Contract contract : contracts) {
+      settleOne(contract);
+    }
+  }
+
+  private static void settleOne(Contract contract) {
+    try {
+      contract.processContract();
+    } catch (InsufficientCreditsException e) {
+      // The contract stays unprocessed for a retry.
+    }
+  }
+
+  /**
+   * Finds the renters whose balance does not cover all of their debits in
+   * the batch.
+   */
+  private static Set<String> insolventRenters(List<Contract> contracts) {
+    Map<String, Long> debits = new HashMap<>();
+    for (Contract contract : contracts) {
+      if (!contract.isProcessed()) {
+        debits.merge(contract.getRenterId(), CreditLedger.toMinorUnits(contract.getTotalCost()), Long::sum);
+      }
+    }
+    CreditLedger ledger = Member.getCreditLedger();
+    Set<String> insolvent = new HashSet<>();
+    for (Map.Entry<String, Long> debit : debits.entrySet()) {
+      if (ledger.getBalance(debit.getKey()) < debit.getValue()) {
+        insolvent.add(debit.getKey());
+      }
+    }
+    return insolvent;
+  }
+
+  /**
+   * Settles a range of the batch, splitting it in halves until it is small.
+   */
+  private static class SettleRange extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    private final List<Contract> contracts;
+    private final int from;
+    private final int to;
+
+    SettleRange(List<Contract> contracts, int from, int to) {
+      this.contracts = contracts;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from <= RANGE_SIZE) {
+        for (int i = from; i < to; i++) {
+          settleOne(contracts.get(i));
+        }
+        return;
+      }
+      int middle = (from + to) >>> 1;
+      invokeAll(new SettleRange(contracts, from, middle), new SettleRange(contracts, middle, to));
+    }
+  }
+}
@@ -0,0 +1,115 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Summary of one or more settlement runs: the contracts whose rental period
+ * ended, the contracts that were settled and the credits they moved, the
+ * contracts whose renters could not pay and that are scheduled for another
+ * attempt, and the contracts that ran out of attempts and were parked in the
+ * dead-letter queue.
+ */
+public class SettlementReport {
+
+  private final List<Contract> ended = new ArrayList<>();
+  private final List<Contract> settled = new ArrayList<>();
+  private final List<Contract> failed = new ArrayList<>();
+  private final List<Contract> deadLettered = new ArrayList<>();
+  private long settledMinorUnits;
+  private int retriedCount;
+
+  void addEnded(Contract contract) {
+    ended.add(contract);
+  }
+
+  void addSettled(Contract contract) {
+    settled.add(contract);
+    settledMinorUnits += CreditLedger.toMinorUnits(contract.getTotalCost());
+  }
+
+  void addFailed(Contract contract) {
+    failed.add(contract);
+  }
+
+  void addDeadLettered(Contract contract) {
+    deadLettered.add(contract);
+  }
+
+  void addRetried() {
+    retriedCount++;
+  }
+
+  /**
+   * Adds the results of another report to this one.
+   *
+   * @param other The report to add.
+   */
+  public void addAll(SettlementReport other) {
+    ended.addAll(other.ended);
+    settled.addAll(other.settled);
+    failed.addAll(other.failed);
+    deadLettered.addAll(other.deadLettered);
+    settledMinorUnits += other.settledMinorUnits;
+    retriedCount += other.retriedCount;
+  }
+
+  /**
+   * Gets the contracts whose rental period ended, whether or not their renter
+   * could pay. Their items are free again.
+   *
+   * @return A read-only list of the ended contracts.
+   */
+  public List<Contract> getEndedContracts() {
+    return Collections.unmodifiableList(ended);
+  }
+
+  /**
+   * Gets the contracts that were settled.
+   *
+   * @return A read-only list of the settled contracts.
+   */
+  public List<Contract> getSettledContracts() {
+    return Collections.unmodifiableList(settled);
+  }
+
+  /**
+   * Gets the contracts that could not be paid and will be retried later.
+   *
+   * @return A read-only list of the failed contracts.
+   */
+  public List<Contract> getFailedContracts() {
+    return Collections.unmodifiableList(failed);
+  }
+
+  /**
+   * Gets the contracts that ran out of attempts and were moved to the
+   * dead-letter queue.
+   *
+   * @return A read-only list of the dead-lettered contracts.
+   */
+  public List<Contract> getDeadLetteredContracts() {
+    return Collections.unmodifiableList(deadLettered);
+  }
+
+  /**
+   * Gets the total amount moved by the settled contracts.
+   *
+   * @return The settled amount in credits.
+   */
+  public double getSettledCredits() {
+    return CreditLedger.toCredits(settledMinorUnits);
+  }
+
+  /**
+   * Gets the number of settlement attempts, successful or not, that retried
+   * a contract whose settlement had failed before, including manual retries
+   * of contracts from the dead-letter queue.
+   *
+   * @return The retry attempt count.
+   */
+  public int getRetriedCount() {
+    return retriedCount;
+  }
+}
@@ -0,0 +1,100 @@
+package model;
+
+/**
+ * Discrete-event clock that drives the contract lifecycle. Instead of
+ * stepping through every day, it asks the contract repository for the day of
+ * the next event, jumps the time straight there and handles every event of
+ * that day: rentals that start make their item unavailable, and rentals that
+ * end make their item available again and are settled. Settlements that fail
+ * are retried on later days chosen by the repository, which are events too;
+ * the item is free again in the meantime.
+ * Advancing the clock therefore costs time proportional to the number of
+ * events passed, however many days are skipped.
+ */
+public class SimulationClock {
+
+  private Time time;
+  private ContractRepository contractRepo;
+  private ItemRepository itemRepo;
+
+  /**
+   * Constructs a clock over the given time and repositories.
+   *
+   * @param time         The time to advance.
+   * @param contractRepo The repository whose contracts generate the events.
+   * @param itemRepo     The repository whose items' availability follows the
+   *                     rentals.
+   * @throws IllegalArgumentException if any argument is null.
+   */
+  public SimulationClock(Time time, ContractRepository contractRepo, ItemRepository itemRepo) {
+    if (time == null || contractRepo == null || itemRepo == null) {
+      throw new IllegalArgumentException("Time and repositories cannot be null.");
+    }
+    this.time = time;
+    this.contractRepo = contractRepo;
+    this.itemRepo = itemRepo;
+  }
+
+  /**
+   * Advances the clock by a number of days, handling every event on the way
+   * in order.
+   *
+   * @param days The number of days to advance; must be non-negative.
+   * @return A report of all settlements made during the advance.
+   * @throws IllegalArgumentException if days is negative.
+   */
+  public SettlementReport advanceDays(int days) {
+    if (days < 0) {
+      throw new IllegalArgumentException("Days to advance cannot be negative.");
+    }
+    int targetDay = (int) Math.min(Integer.MAX_VALUE - 1L, (long) time.getCurrentDay() + days);
+    SettlementReport report = new SettlementReport();
+    while (contractRepo.getNextEventDay() <= targetDay) {
+      report.addAll(handleNextEvents());
+    }
+    time.advanceDays(targetDay - time.getCurrentDay());
+    return report;
+  }
+
+  /**
+   * Advances the clock to the day of the next event and handles every event
+   * of that day. The clock stays put if there is no event left.
+   *
+   * @return A report of the settlements made on that day.
+   */
+  public SettlementReport advanceToNextEvent() {
+    return contractRepo.getNextEventDay() == Integer.MAX_VALUE
+        ? new SettlementReport()
+        : handleNextEvents();
+  }
+
+  /**
+   * Gets the current day.
+   *
+   * @return The current day.
+   */
+  public int getCurrentDay() {
+    return time.getCurrentDay();
+  }
+
+  private SettlementReport handleNextEvents() {
+    // Events scheduled in the past are handled on the current day.
+    int day = Math.max(time.getCurrentDay(), contractRepo.getNextEventDay());
+    time.advanceDays(day - time.getCurrentDay());
+    for (Contract contract : contractRepo.startDueContracts(day)) {
+      setItemAvailable(contract, false);
+    }
+    SettlementReport report = contractRepo.processDueContracts(day);
+    for (Contract contract : report.getEndedContracts()) {
+      setItemAvailable(contract, true);
+    }
+    return report;
+  }
+
+  private void setItemAvailable(Contract contract, boolean available) {
+    Item item = itemRepo.getItem(contract.getItemId());
+    if (item != null) {
+      itemRepo.setItemAvailable(item, available);
+    }
+  }
+}
@@ -9,11 +9,10 @@ package model;
  */
 public class Time {
   private int currentDay = 0;
-  private Contract contract = new Contract();
 
   /**
-   * Advances the current day by a specified number of days and processes any
-   * contracts due up to the new current day.
+   * Advances the current day by a specified number of days. Contracts are
+   * started and settled by {@link SimulationClock}, which drives this time.
    *
    * @param days The number of days to advance; must be non-negative.
    * @throws IllegalArgumentException if days is negative.
@@ -23,7 +22,6 @@ public class Time {
       throw new IllegalArgumentException("Days to advance cannot be negative.");
     }
     currentDay += days;
-    contract.processDueContracts(currentDay); // Process any contracts due by this new day
   }
 
   /**
@@ -0,0 +1,84 @@
+package model;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
+
+/**
+ * A node of a treap: a binary search tree that is also a max-heap on random
+ * priorities, which keeps it balanced in expectation. The split and merge
+ * operations here are shared by the treaps of this package; subclasses hold
+ * the key and any subtree summary, which {@link #update()} recomputes after
+ * the children change.
+ *
+ * @param <N> The concrete node type.
+ */
+abstract class TreapNode<N extends TreapNode<N>> {
+
+  final int priority;
+  N left;
+  N right;
+
+  /**
+   * Creates a node with a fresh random priority.
+   */
+  TreapNode() {
+    this(ThreadLocalRandom.current().nextInt());
+  }
+
+  /**
+   * Creates a node with the given priority, e.g. to replace a node in place.
+   */
+  TreapNode(int priority) {
+    this.priority = priority;
+  }
+
+  /**
+   * Recomputes the subtree summary from the children.
+   */
+  abstract void update();
+
+  /**
+   * Splits a subtree into the nodes for which the test holds and the rest.
+   * The test must hold for a prefix of the nodes in order.
+   *
+   * @param parts Receives the nodes before in its first element and the rest
+   *              in its second.
+   */
+  static <N extends TreapNode<N>> void split(N node, Predicate<N> before, N[] parts) {
+    if (node == null) {
+      parts[0] = null;
+      parts[1] = null;
+    } else if (before.test(node)) {
+      split(node.right, before, parts);
+      node.right = parts[0];
+      node.update();
+      parts[0] = node;
+    } else {
+      split(node.left, before, parts);
+      node.left = parts[1];
+      node.update();
+      parts[1] = node;
+    }
+  }
+
+  /**
+   * Joins two subtrees where every node of the first is ordered before the
+   * second.
+   */
+  static <N extends TreapNode<N>> N merge(N left, N right) {
+    if (left == null) {
+      return right;
+    }
+    if (right == null) {
+      return left;
+    }
+    if (left.priority > right.priority) {
+      left.right = merge(left.right, right);
+      left.update();
+      return left;
+    }
+    right.left = merge(left, right.left);
+    right.update();
+    return right;
+  }
+}
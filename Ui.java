@@ -41,6 +41,15 @@ public class Ui implements UserInterface {
     System.out.println("11. Advance Day");
     System.out.println("12. Exit");
     System.out.println("13. List Members (Verbose)");
+    System.out.println("14. Import Members");
+    System.out.println("15. Search Members by Name");
+    System.out.println("16. Browse Items by Category");
+    System.out.println("17. Search Items");
+    System.out.println("18. Find Free Dates for an Item");
+    System.out.println("19. Find Free Items in a Category");
+    System.out.println("20. Book Several Items");
+    System.out.println("21. Retry Failed Settlements");
+    System.out.println("22. Item Statistics");
   }
 
   public int getMenuOption() {